@@ -21,24 +21,40 @@ public class OverrideConfig {
         private Boolean audit;
         private String className;
         private List<String> uniqueColumns;  // ← THÊM ĐỂ SỬA LỖI List vs Set
+        private List<String> upsertKey;      // conflict target of the generated upserts (PK or one unique column)
+        private String mode;                 // "jpa" (default) or "jdbc": record + RowMapper + JdbcClient, no Hibernate
     }
 
     @Data
     public static class ColumnOverride {
-        private String javaType;
+        private String javaType;           // on JSON columns also a fully qualified record/class, e.g. "com.acme.Settings"
         private Boolean nullable;
         private Boolean unique;
+        private Boolean uniqueAmongLive;   // soft-delete tables: unique among live rows only, a deleted row may share the value
+        private Boolean indexed;           // create an index and allow filtering on this column
+        private Boolean ginIndex;          // jsonb columns: GIN index for containment/key queries (@>, ?)
+        private Boolean lazy;              // @Basic(fetch = LAZY); default true for TEXT, BYTEA, BLOB and CLOB columns
         // FK RELATIONSHIP OVERRIDES
         private String relationshipType;   // "OneToOne", "ManyToOne"
         private String cascade;            // "ALL", "PERSIST", ...
         private String fieldName;          // "userProfile"
         private String mappedBy;           // "userProfile"
         private Boolean orphanRemoval;
+        private String inverseFieldName;   // collection generated on the referenced entity, "" = none
+        private String inverseFetch;       // "batch" (default) or "subselect"
+        private Boolean version;           // true = map as @Version, false = never treat as version
     }
 
     @Data
     public static class GlobalOverride {
         private String packageName;
         private Boolean useLombok = true;
+        private Boolean prodProfile;           // emit a tuned application-prod.yml
+        private Integer expectedConcurrency;   // sizes the Hikari pool of the prod profile
+        private Boolean observability;         // Actuator/Micrometer timers, Hibernate statistics, SQL guard test
+        private Integer maxStatementsPerRequest;
+        private String target;                 // "jpa" (default) or "reactive"
+        private Boolean readReplica;           // routing DataSource: read-only transactions to app.datasource.replica
+        private Boolean jsonCodecs;            // reflection-free Jackson serializers/deserializers per entity
     }
 }
\ No newline at end of file
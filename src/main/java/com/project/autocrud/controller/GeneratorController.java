@@ -1,9 +1,15 @@
 package com.project.autocrud.controller;
 
+import com.project.autocrud.config.OverrideConfig;
+import com.project.autocrud.model.ColumnMetadata;
+import com.project.autocrud.model.GenerationOptions;
 import com.project.autocrud.model.TableMetadata;
 import com.project.autocrud.service.CodeGeneratorService;
 import com.project.autocrud.service.GeneratedFile;
+import com.project.autocrud.service.MigrationService;
 import com.project.autocrud.service.SchemaAnalyzerService;
+import com.project.autocrud.service.TemplateBundleService;
+import com.project.autocrud.service.WorkspaceService;
 import com.project.autocrud.service.ZipService;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
@@ -13,7 +19,9 @@ import org.springframework.web.multipart.MultipartFile;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,24 +31,117 @@ public class GeneratorController {
     private final SchemaAnalyzerService analyzer;
     private final CodeGeneratorService generator;
     private final ZipService zipService;
+    private final MigrationService migrationService;
+    private final WorkspaceService workspaceService;
+    private final TemplateBundleService templateBundleService;
 
-    public GeneratorController(SchemaAnalyzerService analyzer, CodeGeneratorService generator, ZipService zipService) {
+    public GeneratorController(SchemaAnalyzerService analyzer, CodeGeneratorService generator, ZipService zipService,
+                               MigrationService migrationService, WorkspaceService workspaceService,
+                               TemplateBundleService templateBundleService) {
         this.analyzer = analyzer;
         this.generator = generator;
         this.zipService = zipService;
+        this.migrationService = migrationService;
+        this.workspaceService = workspaceService;
+        this.templateBundleService = templateBundleService;
     }
 
     @PostMapping("/upload")
     public ResponseEntity<ByteArrayResource> generateFromUpload(
             @RequestParam("sql") MultipartFile sqlFile,
             @RequestParam(value = "overrides", required = false) MultipartFile overridesFile,
-            @RequestParam("project-name") String projectName) throws Exception {
+            @RequestParam("project-name") String projectName,
+            @RequestParam(value = "prod-profile", required = false) Boolean prodProfile,
+            @RequestParam(value = "expected-concurrency", required = false) Integer expectedConcurrency,
+            @RequestParam(value = "observability", required = false) Boolean observability,
+            @RequestParam(value = "target", required = false) String target,
+            @RequestParam(value = "read-replica", required = false) Boolean readReplica,
+            @RequestParam(value = "json-codecs", required = false) Boolean jsonCodecs,
+            @RequestParam(value = "templates", required = false) String templates) throws Exception {
 
         String sql = new String(sqlFile.getBytes(), StandardCharsets.UTF_8);
         String overrides = overridesFile != null ? new String(overridesFile.getBytes(), StandardCharsets.UTF_8) : null;
 
         List<TableMetadata> tables = analyzer.analyze(sql, overrides);
-        List<GeneratedFile> files = generateAllFiles(tables, "com.generated", projectName);
+        GenerationOptions options = resolveOptions(analyzer.parseOverrides(overrides).getGlobal(),
+                prodProfile, expectedConcurrency, observability, target, readReplica, jsonCodecs, templates);
+        List<GeneratedFile> files = generateAllFiles(tables, "com.generated", projectName, options);
+        return zipResponse(files);
+    }
+
+    /**
+     * Parses the schema once and keeps it server side; the returned id is used by the workspace
+     * preview and archive endpoints, which only take the overrides.
+     */
+    @PostMapping("/workspaces")
+    public Map<String, Object> createWorkspace(@RequestParam("sql") MultipartFile sqlFile) throws Exception {
+        WorkspaceService.Workspace workspace = workspaceService.create(new String(sqlFile.getBytes(), StandardCharsets.UTF_8));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", workspace.getId());
+        body.put("tables", workspace.getTableNames());
+        body.put("expiresAt", workspace.getExpiresAt(workspaceService.getTtl()));
+        return body;
+    }
+
+    /** Analysis result for the given overrides (JSON body, may be empty): table metadata and warnings, no code. */
+    @PostMapping("/workspaces/{id}/preview")
+    public Map<String, Object> previewWorkspace(@PathVariable String id,
+                                                @RequestBody(required = false) String overrides) throws Exception {
+        List<TableMetadata> tables = workspaceService.analyze(id, workspaceService.parseOverrides(overrides));
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("tables", tables);
+        body.put("warnings", tables.stream()
+                .flatMap(t -> t.getWarnings().stream().map(w -> t.getTableName() + ": " + w))
+                .toList());
+        return body;
+    }
+
+    @PostMapping("/workspaces/{id}/archive")
+    public ResponseEntity<ByteArrayResource> generateFromWorkspace(
+            @PathVariable String id,
+            @RequestBody(required = false) String overrides,
+            @RequestParam("project-name") String projectName,
+            @RequestParam(value = "prod-profile", required = false) Boolean prodProfile,
+            @RequestParam(value = "expected-concurrency", required = false) Integer expectedConcurrency,
+            @RequestParam(value = "observability", required = false) Boolean observability,
+            @RequestParam(value = "target", required = false) String target,
+            @RequestParam(value = "read-replica", required = false) Boolean readReplica,
+            @RequestParam(value = "json-codecs", required = false) Boolean jsonCodecs,
+            @RequestParam(value = "templates", required = false) String templates) throws Exception {
+
+        OverrideConfig overrideConfig = workspaceService.parseOverrides(overrides);
+        List<TableMetadata> tables = workspaceService.analyze(id, overrideConfig);
+        GenerationOptions options = resolveOptions(overrideConfig.getGlobal(),
+                prodProfile, expectedConcurrency, observability, target, readReplica, jsonCodecs, templates);
+        return zipResponse(generateAllFiles(tables, "com.generated", projectName, options));
+    }
+
+    @DeleteMapping("/workspaces/{id}")
+    public ResponseEntity<Void> deleteWorkspace(@PathVariable String id) {
+        workspaceService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Registers a ZIP of .ftl files replacing built-in templates (same names, e.g. entity.java.ftl).
+     * The returned hash is passed as the "templates" parameter of the generation endpoints.
+     */
+    @PostMapping("/templates")
+    public Map<String, Object> uploadTemplates(@RequestParam("bundle") MultipartFile bundleFile) throws Exception {
+        TemplateBundleService.TemplateBundle bundle = templateBundleService.register(bundleFile.getBytes());
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("hash", bundle.getHash());
+        body.put("templates", bundle.getTemplateNames());
+        return body;
+    }
+
+    @DeleteMapping("/templates/{hash}")
+    public ResponseEntity<Void> deleteTemplates(@PathVariable String hash) {
+        templateBundleService.delete(hash);
+        return ResponseEntity.noContent().build();
+    }
+
+    private ResponseEntity<ByteArrayResource> zipResponse(List<GeneratedFile> files) throws Exception {
         byte[] zipBytes = zipService.createZip(files);
 
         HttpHeaders headers = new HttpHeaders();
@@ -55,12 +156,63 @@ public class GeneratorController {
         return new ResponseEntity<>(resource, headers, HttpStatus.OK);
     }
 
-    private List<GeneratedFile> generateAllFiles(List<TableMetadata> tables, String packageName, String projectName) throws Exception {
+    // Request parameters win over the global section of the overrides file
+    private GenerationOptions resolveOptions(OverrideConfig.GlobalOverride global, Boolean prodProfile,
+                                             Integer expectedConcurrency, Boolean observability, String target,
+                                             Boolean readReplica, Boolean jsonCodecs, String templates) {
+        GenerationOptions options = new GenerationOptions();
+        if (global != null) {
+            if (global.getProdProfile() != null) options.setProdProfile(global.getProdProfile());
+            if (global.getExpectedConcurrency() != null) options.setExpectedConcurrency(global.getExpectedConcurrency());
+            if (global.getObservability() != null) options.setObservability(global.getObservability());
+            if (global.getMaxStatementsPerRequest() != null) options.setMaxStatementsPerRequest(global.getMaxStatementsPerRequest());
+            if (global.getTarget() != null) options.setTarget(global.getTarget());
+            if (global.getReadReplica() != null) options.setReadReplica(global.getReadReplica());
+            if (global.getJsonCodecs() != null) options.setJsonCodecs(global.getJsonCodecs());
+        }
+        if (prodProfile != null) options.setProdProfile(prodProfile);
+        if (expectedConcurrency != null) options.setExpectedConcurrency(expectedConcurrency);
+        if (observability != null) options.setObservability(observability);
+        if (target != null && !target.isBlank()) options.setTarget(target);
+        if (readReplica != null) options.setReadReplica(readReplica);
+        if (jsonCodecs != null) options.setJsonCodecs(jsonCodecs);
+        if (templates != null && !templates.isBlank()) options.setTemplateBundle(templates.trim());
+        return options;
+    }
+
+    // renders with the uploaded template bundle when the request references one
+    private CodeGeneratorService generatorFor(GenerationOptions options) {
+        if (options.getTemplateBundle() == null) return generator;
+        return templateBundleService.generatorFor(generator, options.getTemplateBundle());
+    }
+
+    private List<GeneratedFile> generateAllFiles(List<TableMetadata> tables, String packageName, String projectName,
+                                                 GenerationOptions options) throws Exception {
+        if (options.isReactive()) return generateReactiveFiles(tables, packageName, projectName, options);
+        CodeGeneratorService generator = generatorFor(options);
         List<GeneratedFile> files = new ArrayList<>();
 
         for (TableMetadata table : tables) {
             // Skip pure join tables (they are modelled as ManyToMany on other entities)
             if (table.isJoinTablePure()) continue;
+            // A view without inferable columns has no identifier to map (see its VIEW_COLUMNS warning)
+            if (table.isView() && table.getPrimaryKeyColumns().isEmpty()) continue;
+
+            // Hot tables in jdbc mode: record + RowMapper + JdbcClient repository, next to the JPA entities
+            if (table.isJdbcMode()) {
+                String baseDir = "src/main/java/" + packageName.replace(".", "/") + "/";
+                files.add(new GeneratedFile(baseDir + "entity/" + table.getClassName() + ".java",
+                        generator.generateJdbc("row", table, packageName, options)));
+                files.add(new GeneratedFile(baseDir + "repository/" + table.getClassName() + "RowMapper.java",
+                        generator.generateJdbc("row-mapper", table, packageName, options)));
+                files.add(new GeneratedFile(baseDir + "repository/" + table.getClassName() + "Repository.java",
+                        generator.generateJdbc("repository", table, packageName, options)));
+                files.add(new GeneratedFile(baseDir + "service/" + table.getClassName() + "Service.java",
+                        generator.generateJdbc("service", table, packageName, options)));
+                files.add(new GeneratedFile(baseDir + "controller/" + table.getClassName() + "Controller.java",
+                        generator.generateJdbc("controller", table, packageName, options)));
+                continue;
+            }
 
             // Entity
             files.add(new GeneratedFile(
@@ -110,16 +262,35 @@ public class GeneratorController {
                 files.add(new GeneratedFile(idClassPath, idSrc.toString()));
             }
 
+            // Views: the @Immutable entity above, read-only repository and service, GET endpoints
+            if (table.isView()) {
+                String baseDir = "src/main/java/" + packageName.replace(".", "/") + "/";
+                files.add(new GeneratedFile(baseDir + "repository/" + table.getClassName() + "Repository.java",
+                        generator.generateView("repository", table, packageName, options)));
+                files.add(new GeneratedFile(baseDir + "service/" + table.getClassName() + "Service.java",
+                        generator.generateView("service", table, packageName, options)));
+                files.add(new GeneratedFile(baseDir + "controller/" + table.getClassName() + "Controller.java",
+                        generator.generateView("controller", table, packageName, options)));
+                continue;
+            }
+
             // Repository
             files.add(new GeneratedFile(
                     "src/main/java/" + packageName.replace(".", "/") + "/repository/" + table.getClassName() + "Repository.java",
                     generator.generateRepository(table, packageName)
             ));
+            if (!table.getUpsertKey().isEmpty()) {
+                String repoDir = "src/main/java/" + packageName.replace(".", "/") + "/repository/";
+                files.add(new GeneratedFile(repoDir + table.getClassName() + "RepositoryCustom.java",
+                        generator.generateRepositoryCustom(table, packageName)));
+                files.add(new GeneratedFile(repoDir + table.getClassName() + "RepositoryCustomImpl.java",
+                        generator.generateRepositoryCustomImpl(table, packageName)));
+            }
 
             // Service
             files.add(new GeneratedFile(
                     "src/main/java/" + packageName.replace(".", "/") + "/service/" + table.getClassName() + "Service.java",
-                    generator.generateService(table, packageName)
+                    generator.generateService(table, packageName, options)
             ));
 
             // Controller
@@ -131,14 +302,89 @@ public class GeneratorController {
 
         }
 
+        // Shared support classes
+        files.add(new GeneratedFile("src/main/java/" + packageName.replace(".", "/") + "/support/FilterSpecifications.java",
+                generator.generateSupportClass("filter-specifications.java.ftl", packageName)));
+        files.add(new GeneratedFile("src/main/java/" + packageName.replace(".", "/") + "/support/RowExport.java",
+                generator.generateSupportClass("row-export.java.ftl", packageName)));
+        if (tables.stream().anyMatch(t -> !t.getChildResources().isEmpty())) {
+            files.add(new GeneratedFile("src/main/java/" + packageName.replace(".", "/") + "/support/KeysetPage.java",
+                    generator.generateSupportClass("keyset-page.java.ftl", packageName)));
+        }
+        files.add(new GeneratedFile("src/main/java/" + packageName.replace(".", "/") + "/support/RowImport.java",
+                generator.generateSupportClass("row-import.java.ftl", packageName)));
+        if (hasLazyColumns(tables) || hasOwnedCollections(tables)) {
+            files.add(new GeneratedFile("src/main/java/" + packageName.replace(".", "/") + "/support/LazyAttributeModule.java",
+                    generator.generateSupportClass("lazy-attribute-module.java.ftl", packageName)));
+        }
+
+        // Observability: timers aspect, per-request SQL statement metrics, N+1 guard test
+        if (options.isObservability()) {
+            String obsDir = packageName.replace(".", "/") + "/observability/";
+            files.add(new GeneratedFile("src/main/java/" + obsDir + "ObservabilityConfig.java",
+                    generator.generateSupportClass("observability-config.java.ftl", packageName)));
+            files.add(new GeneratedFile("src/main/java/" + obsDir + "SqlStatementCounter.java",
+                    generator.generateSupportClass("sql-statement-counter.java.ftl", packageName)));
+            files.add(new GeneratedFile("src/main/java/" + obsDir + "SqlStatementMetricsFilter.java",
+                    generator.generateSupportClass("sql-statement-metrics-filter.java.ftl", packageName)));
+            files.add(new GeneratedFile("src/test/java/" + obsDir + "SqlStatementGuardTest.java",
+                    generator.generateSqlStatementGuardTest(analyzer.dependencyOrder(writableTables(tables)), packageName, options)));
+        }
+
+        // JSON codecs: streaming serializer/deserializer per entity, registered as a Jackson module, JMH benchmark
+        if (options.isJsonCodecs()) {
+            String jsonDir = packageName.replace(".", "/") + "/json/";
+            List<TableMetadata> entities = tables.stream().filter(t -> !t.isJoinTablePure() && !t.isJdbcMode()).toList();
+            for (TableMetadata table : entities) {
+                files.add(new GeneratedFile("src/main/java/" + jsonDir + table.getClassName() + "JsonCodec.java",
+                        generator.generateJsonCodec(table, packageName)));
+            }
+            files.add(new GeneratedFile("src/main/java/" + jsonDir + "JsonCodecs.java",
+                    generator.generateSupportClass("json-codecs.java.ftl", packageName)));
+            files.add(new GeneratedFile("src/main/java/" + jsonDir + "EntityJsonModule.java",
+                    generator.generateJsonModule(entities, packageName)));
+            if (!entities.isEmpty()) {
+                files.add(new GeneratedFile("src/test/java/" + jsonDir + "EntityJsonBenchmark.java",
+                        generator.generateJsonBenchmark(entities, packageName)));
+            }
+        }
+
+        // Read replica: read-only transactions on a second pool, primary as fallback, routing test on two H2 databases
+        if (options.isReadReplica()) {
+            String dsDir = packageName.replace(".", "/") + "/datasource/";
+            files.add(new GeneratedFile("src/main/java/" + dsDir + "ReadReplicaConfig.java",
+                    generator.generateSupportClass("read-replica-config.java.ftl", packageName)));
+            files.add(new GeneratedFile("src/main/java/" + dsDir + "ReplicaFallbackDataSource.java",
+                    generator.generateSupportClass("replica-fallback-data-source.java.ftl", packageName)));
+            files.add(new GeneratedFile("src/test/java/" + dsDir + "ReadReplicaRoutingTest.java",
+                    generator.generateSupportClass("read-replica-routing-test.java.ftl", packageName)));
+        }
+
+        // Load-test harness (test sources): FK-ordered seed data + HttpClient driver on embedded H2
+        List<TableMetadata> seedOrder = analyzer.dependencyOrder(writableTables(tables));
+        String loadTestDir = "src/test/java/" + packageName.replace(".", "/") + "/loadtest/";
+        files.add(new GeneratedFile(loadTestDir + "SeedDataGenerator.java", generator.generateSeedData(seedOrder, packageName)));
+        files.add(new GeneratedFile(loadTestDir + "LoadTestRunner.java",
+                generator.generateLoadTestRunner(seedOrder, packageName, toPascalCase(projectName) + "Application")));
+        boolean jdbcTables = tables.stream().anyMatch(TableMetadata::isJdbcMode);
+        files.add(new GeneratedFile("src/test/resources/application-loadtest.yml", generateLoadTestYml(options, jdbcTables)));
+        if (jdbcTables) files.add(migrationService.generateLoadTestSchema(tables));
+
         // Thêm pom.xml
-        files.add(new GeneratedFile("pom.xml", generatePom(tables)));
+        files.add(new GeneratedFile("pom.xml", generatePom(tables, packageName, options)));
+
+        // Flyway migrations: tables, foreign keys, indexes
+        files.addAll(migrationService.generateMigrations(tables));
 
         // Thêm application.yml
-        files.add(new GeneratedFile("src/main/resources/application.yml", generateApplicationYml()));
+        files.add(new GeneratedFile("src/main/resources/application.yml", generateApplicationYml(packageName, options,
+                tables.stream().anyMatch(TableMetadata::isMaterializedView))));
+        if (options.isProdProfile()) {
+            files.add(new GeneratedFile("src/main/resources/application-prod.yml", generateProdYml(options)));
+        }
 
         // Thêm report
-        files.add(new GeneratedFile("generation-report.txt", generateReport(tables)));
+        files.add(new GeneratedFile("generation-report.txt", generateReport(tables, options)));
 
         // Thêm main class
         files.add(new GeneratedFile("src/main/java/" + packageName.replace(".", "/") + "/" + toPascalCase(projectName) + "Application.java", generateMainClass(packageName, toPascalCase(projectName))
@@ -153,7 +399,239 @@ public class GeneratorController {
         return files;
     }
 
-    private String generatePom(List<TableMetadata> tables) {
+    // views cannot be seeded: the load test and the SQL guard test only drive tables
+    private List<TableMetadata> writableTables(List<TableMetadata> tables) {
+        return tables.stream().filter(t -> !t.isView()).toList();
+    }
+
+    // WebFlux + R2DBC target: same schema model and migrations, reactive template set (templates/reactive)
+    private List<GeneratedFile> generateReactiveFiles(List<TableMetadata> tables, String packageName, String projectName,
+                                                      GenerationOptions options) throws Exception {
+        CodeGeneratorService generator = generatorFor(options);
+        List<GeneratedFile> files = new ArrayList<>();
+        String baseDir = "src/main/java/" + packageName.replace(".", "/") + "/";
+
+        for (TableMetadata table : tables) {
+            table.getWarnings().addAll(generator.reactiveWarnings(table));
+            if (!generator.supportsReactive(table)) continue;
+
+            files.add(new GeneratedFile(baseDir + "entity/" + table.getClassName() + ".java",
+                    generator.generateReactive("entity", table, packageName)));
+            files.add(new GeneratedFile(baseDir + "repository/" + table.getClassName() + "Repository.java",
+                    generator.generateReactive("repository", table, packageName)));
+            files.add(new GeneratedFile(baseDir + "service/" + table.getClassName() + "Service.java",
+                    generator.generateReactive("service", table, packageName)));
+            files.add(new GeneratedFile(baseDir + "controller/" + table.getClassName() + "Controller.java",
+                    generator.generateReactive("controller", table, packageName)));
+        }
+
+        files.add(new GeneratedFile("pom.xml", generateReactivePom(tables)));
+        files.addAll(migrationService.generateMigrations(tables));
+        files.add(new GeneratedFile("src/main/resources/application.yml", generateReactiveYml(options)));
+        files.add(new GeneratedFile("generation-report.txt", generateReactiveReport(tables, options)));
+        files.add(new GeneratedFile(baseDir + toPascalCase(projectName) + "Application.java",
+                generateReactiveMainClass(packageName, toPascalCase(projectName))));
+
+        files.add(new GeneratedFile("mvnw", zipService.loadResource("wrapper/mvnw")));
+        files.add(new GeneratedFile("mvnw.cmd", zipService.loadResource("wrapper/mvnw.cmd")));
+        files.add(new GeneratedFile(".mvn/wrapper/maven-wrapper.properties",
+                zipService.loadResource("wrapper/maven-wrapper.properties")));
+        return files;
+    }
+
+    private String generateReactivePom(List<TableMetadata> tables) {
+        String projectName = tables.isEmpty() ? "AutoCRUD" : toPascalCase(tables.get(0).getClassName()) + "Crud";
+        String artifactId = projectName.toLowerCase().replaceAll("[^a-z0-9-]", "-");
+        String description = "Auto-generated reactive Spring Boot CRUD for " +
+                tables.stream()
+                        .map(t -> t.getTableName())
+                        .collect(Collectors.joining(", "));
+
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <project xmlns="http://maven.apache.org/POM/4.0.0"
+                         xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+                         xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 https://maven.apache.org/xsd/maven-4.0.0.xsd">
+                    <modelVersion>4.0.0</modelVersion>
+                
+                    <parent>
+                        <groupId>org.springframework.boot</groupId>
+                        <artifactId>spring-boot-starter-parent</artifactId>
+                        <version>3.3.1</version>
+                        <relativePath/>
+                    </parent>
+                
+                    <groupId>com.generated</groupId>
+                    <artifactId>%s</artifactId>
+                    <version>1.0.0</version>
+                    <name>%s</name>
+                    <description>%s</description>
+                
+                    <properties>
+                        <java.version>21</java.version>
+                        <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+                    </properties>
+                
+                    <dependencies>
+                        <!-- WebFlux + Spring Data R2DBC -->
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-webflux</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-data-r2dbc</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.postgresql</groupId>
+                            <artifactId>r2dbc-postgresql</artifactId>
+                            <scope>runtime</scope>
+                        </dependency>
+                
+                        <!-- Lombok -->
+                        <dependency>
+                            <groupId>org.projectlombok</groupId>
+                            <artifactId>lombok</artifactId>
+                            <optional>true</optional>
+                        </dependency>
+                
+                        <!-- Flyway runs the migrations over JDBC at startup, requests only use R2DBC -->
+                        <dependency>
+                            <groupId>org.flywaydb</groupId>
+                            <artifactId>flyway-core</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.flywaydb</groupId>
+                            <artifactId>flyway-database-postgresql</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.postgresql</groupId>
+                            <artifactId>postgresql</artifactId>
+                            <scope>runtime</scope>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework</groupId>
+                            <artifactId>spring-jdbc</artifactId>
+                        </dependency>
+                
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-test</artifactId>
+                            <scope>test</scope>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.projectreactor</groupId>
+                            <artifactId>reactor-test</artifactId>
+                            <scope>test</scope>
+                        </dependency>
+                    </dependencies>
+                
+                    <build>
+                        <plugins>
+                            <plugin>
+                                <groupId>org.springframework.boot</groupId>
+                                <artifactId>spring-boot-maven-plugin</artifactId>
+                                <configuration>
+                                    <excludes>
+                                        <exclude>
+                                            <groupId>org.projectlombok</groupId>
+                                            <artifactId>lombok</artifactId>
+                                        </exclude>
+                                    </excludes>
+                                </configuration>
+                            </plugin>
+                        </plugins>
+                    </build>
+                </project>
+                """.formatted(artifactId, projectName, description).trim();
+    }
+
+    private String generateReactiveYml(GenerationOptions options) {
+        // a reactive connection serves many in-flight requests, so the pool can stay well below the concurrency
+        int pool = prodPoolSize(options);
+        return """
+                spring:
+                  r2dbc:
+                    url: r2dbc:postgresql://localhost:5432/yourdb
+                    username: postgres
+                    password: password
+                    pool:
+                      initial-size: %d
+                      max-size: %d
+                      max-idle-time: 30m
+                      validation-query: SELECT 1
+                  flyway:
+                    enabled: true
+                    # Flyway has no R2DBC support, it migrates over JDBC before the app starts serving
+                    url: jdbc:postgresql://localhost:5432/yourdb
+                    user: postgres
+                    password: password
+                """.formatted(Math.max(2, pool / 2), pool);
+    }
+
+    private String generateReactiveReport(List<TableMetadata> tables, GenerationOptions options) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("=== AUTO CRUD GENERATION REPORT (reactive: WebFlux + R2DBC) ===\n");
+        sb.append("Generated on: ").append(LocalDate.now()).append("\n\n");
+        sb.append("Schema: Flyway migrations in src/main/resources/db/migration, applied over JDBC (spring.flyway.url).\n");
+        sb.append("Lists are Flux responses: send Accept: application/x-ndjson to stream rows as they are read.\n");
+        sb.append("Associations are flattened to their foreign key value; each FK gets a GET /by-<column>/{value} endpoint.\n");
+        sb.append("PUT updates an existing row only (404 otherwise); on @Version tables the body must carry the version " +
+                "(428 without it, 412 when it is stale).\n");
+        sb.append("Not available on this target: ETag/If-Match, /search, /export, /import, /upsert, load-test harness");
+        if (options.isObservability() || options.isProdProfile() || options.isReadReplica() || options.isJsonCodecs()) {
+            sb.append(", observability, prod profile, read replica routing and JSON codecs (JPA/servlet only)");
+        }
+        sb.append(".\n\n");
+        for (TableMetadata t : tables) {
+            sb.append("Table: ").append(t.getTableName()).append(" → ").append(t.getClassName()).append("\n");
+            t.getWarnings().forEach(w -> sb.append("[WARNING] ").append(w).append("\n"));
+        }
+        return sb.toString();
+    }
+
+    private String generateReactiveMainClass(String packageName, String appName) {
+        return """
+                package %s;
+                
+                import org.springframework.boot.SpringApplication;
+                import org.springframework.boot.autoconfigure.SpringBootApplication;
+                import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+                
+                @SpringBootApplication
+                @EnableR2dbcAuditing
+                public class %sApplication {
+                    public static void main(String[] args) {
+                        SpringApplication.run(%sApplication.class, args);
+                    }
+                }
+                """.formatted(packageName, appName, appName);
+    }
+
+    private String observabilityDependencies(GenerationOptions options) {
+        if (!options.isObservability()) return "";
+        return """
+                        <!-- Observability: Actuator, Prometheus registry, @Timed aspect, Hibernate statistics -->
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-actuator</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>io.micrometer</groupId>
+                            <artifactId>micrometer-registry-prometheus</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-aop</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.hibernate.orm</groupId>
+                            <artifactId>hibernate-micrometer</artifactId>
+                        </dependency>
+                """;
+    }
+
+    private String generatePom(List<TableMetadata> tables, String packageName, GenerationOptions options) {
         // TODO: Consider passing projectName from the request
         String projectName = tables.isEmpty() ? "AutoCRUD" : toPascalCase(tables.get(0).getClassName()) + "Crud";
         String artifactId = projectName.toLowerCase().replaceAll("[^a-z0-9-]", "-");
@@ -216,6 +694,29 @@ public class GeneratorController {
                                     <artifactId>postgresql</artifactId>
                                     <scope>runtime</scope>
                         </dependency>
+
+                        <!-- Flyway migrations (src/main/resources/db/migration) -->
+                        <dependency>
+                            <groupId>org.flywaydb</groupId>
+                            <artifactId>flyway-core</artifactId>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.flywaydb</groupId>
+                            <artifactId>flyway-database-postgresql</artifactId>
+                        </dependency>
+
+                %s
+                        <!-- Tests and load-test harness (embedded H2) -->
+                        <dependency>
+                            <groupId>org.springframework.boot</groupId>
+                            <artifactId>spring-boot-starter-test</artifactId>
+                            <scope>test</scope>
+                        </dependency>
+                        <dependency>
+                            <groupId>com.h2database</groupId>
+                            <artifactId>h2</artifactId>
+                            <scope>test</scope>
+                        </dependency>
                 
                     </dependencies>
                 
@@ -233,14 +734,122 @@ public class GeneratorController {
                                     </excludes>
                                 </configuration>
                             </plugin>
+                %s
                         </plugins>
                     </build>
+                
+                    <profiles>
+                        <!-- ./mvnw -Ploadtest test-compile exec:java -Dloadtest.concurrency=32 -->
+                        <profile>
+                            <id>loadtest</id>
+                            <build>
+                                <plugins>
+                                    <plugin>
+                                        <groupId>org.codehaus.mojo</groupId>
+                                        <artifactId>exec-maven-plugin</artifactId>
+                                        <version>3.5.0</version>
+                                        <configuration>
+                                            <mainClass>%s.loadtest.LoadTestRunner</mainClass>
+                                            <classpathScope>test</classpathScope>
+                                        </configuration>
+                                    </plugin>
+                                </plugins>
+                            </build>
+                        </profile>
+                %s
+                    </profiles>
                 </project>
-                """.formatted(artifactId, projectName, description).trim();
+                """.formatted(artifactId, projectName, description,
+                observabilityDependencies(options) + jsonBenchmarkDependencies(options),
+                bytecodeEnhancementPlugin(tables), packageName, jsonBenchmarkProfile(options)).trim();
+    }
+
+    private boolean hasLazyColumns(List<TableMetadata> tables) {
+        return tables.stream().anyMatch(t -> t.getColumns().stream().anyMatch(ColumnMetadata::isLazy));
     }
 
-    private String generateApplicationYml() {
+    // collections on the owning side are serialized, the inverse ones are @JsonIgnore
+    private boolean hasOwnedCollections(List<TableMetadata> tables) {
+        return tables.stream().filter(t -> !t.isJdbcMode()).flatMap(t -> t.getRelationships().stream())
+                .anyMatch(r -> r.getRelationshipType() != null && r.getRelationshipType().matches("(?i)OneToMany|ManyToMany")
+                        && (r.getMappedBy() == null || r.getMappedBy().isEmpty()));
+    }
+
+    // @Basic(fetch = LAZY) is only honoured by enhanced entity classes; the same build step adds in-entity dirty tracking
+    private String bytecodeEnhancementPlugin(List<TableMetadata> tables) {
+        if (!hasLazyColumns(tables)) return "";
         return """
+                            <plugin>
+                                <groupId>org.hibernate.orm.tooling</groupId>
+                                <artifactId>hibernate-enhance-maven-plugin</artifactId>
+                                <version>${hibernate.version}</version>
+                                <executions>
+                                    <execution>
+                                        <configuration>
+                                            <enableLazyInitialization>true</enableLazyInitialization>
+                                            <enableDirtyTracking>true</enableDirtyTracking>
+                                            <enableAssociationManagement>false</enableAssociationManagement>
+                                        </configuration>
+                                        <goals>
+                                            <goal>enhance</goal>
+                                        </goals>
+                                    </execution>
+                                </executions>
+                            </plugin>
+                """;
+    }
+
+    private String jsonBenchmarkDependencies(GenerationOptions options) {
+        if (!options.isJsonCodecs()) return "";
+        return """
+                        <!-- JMH: generated JSON codecs vs. reflective Jackson (EntityJsonBenchmark) -->
+                        <dependency>
+                            <groupId>org.openjdk.jmh</groupId>
+                            <artifactId>jmh-core</artifactId>
+                            <version>1.37</version>
+                            <scope>test</scope>
+                        </dependency>
+                        <dependency>
+                            <groupId>org.openjdk.jmh</groupId>
+                            <artifactId>jmh-generator-annprocess</artifactId>
+                            <version>1.37</version>
+                            <scope>test</scope>
+                        </dependency>
+                """;
+    }
+
+    // exec:exec rather than exec:java: JMH forks a JVM and needs the test classpath on its command line
+    private String jsonBenchmarkProfile(GenerationOptions options) {
+        if (!options.isJsonCodecs()) return "";
+        return """
+                        <!-- ./mvnw -Pjmh test-compile exec:exec -->
+                        <profile>
+                            <id>jmh</id>
+                            <build>
+                                <plugins>
+                                    <plugin>
+                                        <groupId>org.codehaus.mojo</groupId>
+                                        <artifactId>exec-maven-plugin</artifactId>
+                                        <version>3.5.0</version>
+                                        <configuration>
+                                            <executable>java</executable>
+                                            <classpathScope>test</classpathScope>
+                                            <arguments>
+                                                <argument>-classpath</argument>
+                                                <classpath/>
+                                                <argument>org.openjdk.jmh.Main</argument>
+                                                <argument>EntityJsonBenchmark</argument>
+                                            </arguments>
+                                        </configuration>
+                                    </plugin>
+                                </plugins>
+                            </build>
+                        </profile>
+                """;
+    }
+
+    private String generateApplicationYml(String packageName, GenerationOptions options, boolean materializedViews) {
+        String yml = """
                 spring:
                   datasource:
                     url: jdbc:postgresql://localhost:5432/yourdb
@@ -248,19 +857,282 @@ public class GeneratorController {
                     password: password
                   jpa:
                     hibernate:
-                      ddl-auto: update
-                    show-sql: true
+                      # schema is owned by Flyway (db/migration), Hibernate only checks the mapping
+                      ddl-auto: validate
+                    show-sql: false
+                """;
+        if (options.isReadReplica()) {
+            // an open session would keep the connection of the first (read-only, replica) lookup for later writes
+            yml += """
+                    open-in-view: false
+                """;
+        }
+        yml += """
+                    properties:
+                      hibernate:
+                        default_batch_fetch_size: 32
+                """;
+        if (materializedViews) {
+            // the PostgreSQL driver reports materialized views under their own table type, validate would not find them
+            yml += """
+                        hbm2ddl:
+                          extra_physical_table_types: MATERIALIZED VIEW
+                """;
+        }
+        if (options.isObservability()) {
+            yml += """
+                        generate_statistics: true
+                        session_factory:
+                          statement_inspector: %s.observability.SqlStatementCounter
+                        session:
+                          events:
+                            log:
+                              LOG_QUERIES_SLOWER_THAN_MS: 200
+                """.formatted(packageName);
+        }
+        yml += """
+                  flyway:
+                    enabled: true
+                  mvc:
+                    async:
+                      # /export streams whole tables, the servlet container default (30s) would cut them off
+                      request-timeout: 30m
+                """;
+        if (options.isObservability()) {
+            yml += """
+                management:
+                  endpoints:
+                    web:
+                      exposure:
+                        include: health,info,metrics,prometheus
+                """;
+        }
+        yml += """
+                app:
+                  import:
+                    # rows persisted per transaction (flush + clear) by the /import endpoints
+                    batch-size: 500
+                """;
+        if (options.isObservability()) {
+            yml += """
+                  sql:
+                    max-statements-per-request: %d
+                """.formatted(options.getMaxStatementsPerRequest());
+        }
+        if (options.isReadReplica()) {
+            yml += """
+                  datasource:
+                    # @Transactional(readOnly = true) runs here, everything else on spring.datasource (the primary)
+                    replica:
+                      jdbc-url: jdbc:postgresql://localhost:5433/yourdb
+                      username: postgres
+                      password: password
+                      maximum-pool-size: 10
+                      read-only: true
+                      # fail over to the primary quickly, and start even when the replica is down
+                      connection-timeout: 2000
+                      initialization-fail-timeout: -1
+                    # how long reads stay on the primary after the replica failed to hand out a connection
+                    replica-retry: 30s
+                """;
+        }
+        return yml;
+    }
+
+    private int prodPoolSize(GenerationOptions options) {
+        // one connection per concurrent request, capped: past ~32 the database itself becomes the bottleneck
+        return Math.max(4, Math.min(options.getExpectedConcurrency(), 32));
+    }
+
+    private String generateProdYml(GenerationOptions options) {
+        int pool = prodPoolSize(options);
+        return """
+                # Production profile, activate with --spring.profiles.active=prod
+                # See generation-report.txt for the reasoning behind each value.
+                spring:
+                  threads:
+                    virtual:
+                      enabled: true
+                  datasource:
+                    hikari:
+                      maximum-pool-size: %d
+                      minimum-idle: %d
+                      connection-timeout: 3000
+                      max-lifetime: 1800000
+                      data-source-properties:
+                        prepareThreshold: 3
+                        preparedStatementCacheQueries: 256
+                        preparedStatementCacheSizeMiB: 5
+                        reWriteBatchedInserts: true
+                  jpa:
+                    open-in-view: false
+                    show-sql: false
+                    properties:
+                      hibernate:
+                        jdbc:
+                          batch_size: 50
+                          batch_versioned_data: true
+                          fetch_size: 100
+                        order_inserts: true
+                        order_updates: true
+                        query:
+                          in_clause_parameter_padding: true
+                          plan_cache_max_size: 2048
+                logging:
+                  level:
+                    org.hibernate.SQL: warn
+                    org.hibernate.orm.jdbc.bind: warn
+                """.formatted(pool, pool);
+    }
+
+    private String generateLoadTestYml(GenerationOptions options, boolean jdbcTables) {
+        String yml = """
+                # Used by LoadTestRunner: in-memory H2, schema created from the entities
+                # (H2 has no jsonb type, the domain lets columnDefinition = "jsonb" entities create their tables)
+                spring:
+                  datasource:
+                    url: jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS jsonb AS JSON
+                    username: sa
+                    password:
+                  jpa:
+                    open-in-view: false
+                    show-sql: false
+                    hibernate:
+                      ddl-auto: create-drop
+                  flyway:
+                    enabled: false
+                logging:
+                  level:
+                    root: warn
+                """;
+        if (jdbcTables) {
+            yml += """
+                ---
+                # jdbc-mode tables have no entity: loadtest-schema.sql creates them once Hibernate is done
+                spring:
+                  jpa:
+                    defer-datasource-initialization: true
+                  sql:
+                    init:
+                      mode: always
+                      schema-locations: classpath:loadtest-schema.sql
                 """;
+        }
+        if (options.isReadReplica()) {
+            yml += """
+                app:
+                  datasource:
+                    # same in-memory database as the primary, so reads through the replica pool see the seeded rows
+                    replica:
+                      jdbc-url: jdbc:h2:mem:loadtest;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1;INIT=CREATE DOMAIN IF NOT EXISTS jsonb AS JSON
+                      username: sa
+                      password:
+                """;
+        }
+        return yml;
     }
 
-    private String generateReport(List<TableMetadata> tables) {
+    private String generateReport(List<TableMetadata> tables, GenerationOptions options) {
         StringBuilder sb = new StringBuilder();
         sb.append("=== AUTO CRUD GENERATION REPORT ===\n");
         sb.append("Generated on: ").append(LocalDate.now()).append("\n\n");
+        sb.append("Schema: Flyway migrations in src/main/resources/db/migration (V1 tables, V2 foreign keys, V3 indexes")
+                .append(tables.stream().anyMatch(TableMetadata::isView) ? ", V4 views" : "").append(").\n");
+        sb.append("        Hibernate runs with ddl-auto=validate; add new V<n>__*.sql files for schema changes.\n");
+        if (hasLazyColumns(tables)) {
+            sb.append("Lazy columns: entities are bytecode-enhanced at build time (hibernate-enhance-maven-plugin), lists leave\n");
+            sb.append("              unloaded lazy columns out of the JSON, GET /{id} loads and returns them.\n");
+        }
+        if (hasOwnedCollections(tables)) {
+            sb.append("Collections: owned @OneToMany/@ManyToMany sets are only serialized once loaded, lists leave them out,\n");
+            sb.append("             GET /{id} loads and returns them.\n");
+        }
+        sb.append("Load test: ./mvnw -Ploadtest test-compile exec:java [-Dloadtest.concurrency=16 -Dloadtest.durationSeconds=30\n");
+        sb.append("           -Dloadtest.rows=1000 -Dloadtest.mix=list=5,get=85,create=10] seeds an embedded H2 and prints latency percentiles.\n\n");
         for (TableMetadata t : tables) {
-            sb.append("Table: ").append(t.getTableName()).append(" → ").append(t.getClassName()).append("\n");
+            sb.append(t.isView() ? "View: " : "Table: ").append(t.getTableName()).append(" → ").append(t.getClassName()).append("\n");
+            if (t.isView()) {
+                sb.append("  read-only: @Immutable entity, GET /api/").append(t.getEndpointPath())
+                        .append(t.isCompositePrimaryKey() ? "" : " and /{id}").append(" only\n");
+                if (t.isMaterializedView()) {
+                    sb.append("  materialized: not refreshed automatically, call ").append(t.getClassName())
+                            .append("Service.refresh() (REFRESH MATERIALIZED VIEW CONCURRENTLY) when the data must be current\n");
+                }
+            } else if (t.isJdbcMode()) {
+                sb.append("  mode: jdbc (record + RowMapper + JdbcClient; no search, patch, export/import or upsert endpoints)\n");
+            } else if (!t.getUpsertKey().isEmpty()) {
+                sb.append("  upsert key: ").append(String.join(", ", t.getUpsertKey())).append(" (PUT /api/")
+                        .append(t.getEndpointPath()).append("/upsert, /upsert/batch)\n");
+                if (t.getVersionField() != null) {
+                    sb.append("  upsert version check: existing rows are only replaced when the body carries the current ")
+                            .append(t.getVersionField()).append(", otherwise 412\n");
+                }
+            }
+            t.getRelationships().stream()
+                    .filter(r -> "OneToMany".equals(r.getRelationshipType()) && r.getFetchMode() != null)
+                    .forEach(r -> sb.append("  inverse: ").append(r.getFieldName()).append(" → ").append(r.getTargetClass())
+                            .append(".").append(r.getMappedBy()).append(" (lazy, ")
+                            .append("subselect".equals(r.getFetchMode()) ? "subselect fetch" : "batch fetch 32")
+                            .append(", not serialized)\n"));
+            t.getChildResources().forEach(r -> sb.append("  children: GET /api/").append(t.getEndpointPath())
+                    .append("/{id}/").append(r.getPath()).append("?after=&limit= (").append(r.getChildTable()).append(".")
+                    .append(r.getFkColumn()).append(", keyset on ").append(r.getChildPkField()).append(")\n"));
+            List<String> lazy = t.getColumns().stream().filter(ColumnMetadata::isLazy).map(ColumnMetadata::getName).toList();
+            if (!lazy.isEmpty()) {
+                sb.append("  lazy: ").append(String.join(", ", lazy))
+                        .append(" (@Basic(fetch = LAZY); columnOverrides.").append(t.getTableName()).append(".<column>.lazy=false to load eagerly)\n");
+            }
+            if (t.isHasSoftDelete() && t.getSoftDeleteColumn() != null) {
+                sb.append("  soft delete: reads filter ").append(t.getSoftDeleteColumn())
+                        .append(" IS NULL; lookup indexes are partial, unique keys cover deleted rows too")
+                        .append(" unless columnOverrides.").append(t.getTableName()).append(".<column>.uniqueAmongLive=true\n");
+            }
             t.getWarnings().forEach(w -> sb.append("[WARNING] ").append(w).append("\n"));
         }
+        if (options.isObservability()) {
+            sb.append("\n=== OBSERVABILITY ===\n");
+            sb.append("- Actuator exposes health, info, metrics and prometheus under /actuator.\n");
+            sb.append("- crud.service timers: one per service class (tag entity), split by the method tag (findAll, findById, save, update, deleteById, ...).\n");
+            sb.append("- Hibernate statistics are on; hibernate-micrometer publishes hibernate.statements, hibernate.query.executions(.max), cache and flush counts.\n");
+            sb.append("- Queries slower than 200 ms are logged by org.hibernate.SQL_SLOW.\n");
+            sb.append("- crud.request.sql.statements: SQL statements per request (tags method, uri); requests above ")
+                    .append(options.getMaxStatementsPerRequest()).append(" are logged as warnings.\n");
+            sb.append("- SqlStatementGuardTest fails when a GET endpoint runs more than ").append(options.getMaxStatementsPerRequest())
+                    .append(" statements (override with -Dsql.guard.max-statements=N).\n");
+        }
+        if (options.isJsonCodecs()) {
+            sb.append("\n=== JSON CODECS ===\n");
+            sb.append("- json/<Entity>JsonCodec: streaming Jackson serializer and deserializer per entity, no bean introspection at runtime.\n");
+            sb.append("- EntityJsonModule registers them on the application ObjectMapper; same properties, order and nulls as the default mapping.\n");
+            sb.append("- Scalars are written and read directly; dates, enums, JSON columns and associations are delegated to their Jackson serializers.\n");
+            sb.append("- Regenerate after schema changes: a codec only knows the fields of its entity at generation time.\n");
+            sb.append("- Benchmark: ./mvnw -Pjmh test-compile exec:exec runs EntityJsonBenchmark (reflective vs. generated, per entity).\n");
+        }
+        if (options.isReadReplica()) {
+            sb.append("\n=== READ REPLICA ===\n");
+            sb.append("- @Transactional(readOnly = true) service methods (findAll, search, findById, export) run on app.datasource.replica, writes on spring.datasource.\n");
+            sb.append("- A LazyConnectionDataSourceProxy defers the connection to the first statement, when the read-only flag is known.\n");
+            sb.append("- If the replica cannot hand out a connection within 2 s, reads use the primary for app.datasource.replica-retry (30s) before trying again.\n");
+            sb.append("- Replication lag: a read right after a write may not see it yet. PUT/PATCH compare If-Match (including *) with the version read inside the write transaction, on the primary.\n");
+            sb.append("- jpa.open-in-view=false: every transaction takes its own connection, so a write never reuses the replica connection of an earlier read in the same request.\n");
+            sb.append("- ReadReplicaRoutingTest checks the routing and the fallback on two in-memory H2 databases.\n");
+        }
+        if (options.isProdProfile()) {
+            int pool = prodPoolSize(options);
+            sb.append("\n=== PROD PROFILE (application-prod.yml) ===\n");
+            sb.append("Expected concurrency: ").append(options.getExpectedConcurrency()).append("\n");
+            sb.append("- spring.threads.virtual.enabled=true: requests run on virtual threads, so blocking JDBC calls do not tie up platform threads.\n");
+            sb.append("- hikari.maximum-pool-size=minimum-idle=").append(pool)
+                    .append(": fixed-size pool, one connection per expected concurrent request (min 4, max 32). Extra requests wait on the pool instead of overloading the database.\n");
+            sb.append("- hikari.connection-timeout=3000: fail fast when the pool is exhausted instead of piling up requests.\n");
+            sb.append("- prepareThreshold / preparedStatementCache*: the PostgreSQL driver switches to server-side prepared statements and caches them per connection.\n");
+            sb.append("- reWriteBatchedInserts=true: the driver folds JDBC insert batches into multi-row INSERTs.\n");
+            sb.append("- jpa.open-in-view=false: the connection is released when the service transaction ends, not after the response is rendered.\n");
+            sb.append("- hibernate.jdbc.batch_size=50 and batch_versioned_data, order_inserts, order_updates: writes, versioned rows included, are grouped into JDBC batches (not for IDENTITY keys on insert).\n");
+            sb.append("- hibernate.jdbc.fetch_size=100: result sets are read in chunks instead of the driver's default of all rows at once.\n");
+            sb.append("- hibernate.query.in_clause_parameter_padding / plan_cache_max_size: IN lists reuse a few padded shapes, so cached query plans get reused.\n");
+            sb.append("- show-sql=false and org.hibernate.SQL=warn: no per-statement logging on the hot path.\n");
+        }
         return sb.toString();
     }
 
@@ -270,8 +1142,10 @@ public class GeneratorController {
                 
                 import org.springframework.boot.SpringApplication;
                 import org.springframework.boot.autoconfigure.SpringBootApplication;
+                import org.springframework.data.web.config.EnableSpringDataWebSupport;
                 
                 @SpringBootApplication
+                @EnableSpringDataWebSupport(pageSerializationMode = EnableSpringDataWebSupport.PageSerializationMode.VIA_DTO)
                 public class %sApplication {
                     public static void main(String[] args) {
                         SpringApplication.run(%sApplication.class, args);
@@ -0,0 +1,20 @@
+package com.project.autocrud.model;
+
+import lombok.Data;
+
+/**
+ * GET /api/{parent}/{id}/{path}: the children of one parent row, keyset paginated on the child key.
+ * Served by the parent controller, backed by derived queries on the child's FK column.
+ */
+@Data
+public class ChildResource {
+    private String path;               // orders, or orders-by-buyer-id when several FKs point to the same parent
+    private String childTable;         // orders
+    private String childClass;         // Orders
+    private String fkColumn;           // user_id
+    private String relationshipField;  // user, the ManyToOne field on the child
+    private String parentPkField;      // id
+    private String parentPkType;       // Long, java.util.UUID outside java.lang
+    private String childPkField;       // id
+    private String childPkType;        // Long
+}
@@ -9,21 +9,28 @@ public class ColumnMetadata {
     private Class<?> javaType;
     private boolean nullable = true;
     private boolean unique = false;
+    private boolean uniqueAmongLive = false; // unique index is partial (WHERE <deleted_at> IS NULL), only on override
     private boolean autoIncrement = false;
     private boolean primaryKey = false;
     private boolean foreignKey = false;
     private boolean notNull = false;
+    private boolean indexed = false;    // backed by an index (PK, FK, unique or override), filterable
+    private boolean lazy = false;       // @Basic(fetch = LAZY): TEXT and large objects, loaded on first access
     private String defaultValue;
     private Integer length;
     private Integer precision;
     private Integer scale;
     private String referencedTable;     // e.g., "user_profiles"
     private String referencedColumn;    // e.g., "id"
+    private boolean referencesPrimaryKey; // referencedColumn is the single-column PK of referencedTable
     private String relationshipType;    // "OneToOne", "ManyToOne", "OneToMany"
     private String cascade;             // "ALL", "PERSIST", ...
     private String mappedBy;            // for bidirectional
     private boolean orphanRemoval;
 
+    // Optimistic locking (@Version)
+    private boolean version = false;
+
     // Audit
     private boolean createdAt = false;
     private boolean updatedAt = false;
@@ -43,11 +50,14 @@ public class ColumnMetadata {
 
     // SQL type
     private String sqlType;
+    private String sqlTypeDefinition;   // full type as declared, e.g. "VARCHAR (255)"
     public String getSqlType() { return sqlType; }
     public void setSqlType(String sqlType) { this.sqlType = sqlType; }
 
     // JSON flag
     private boolean isJson = false;
+    private String jsonType;            // class mapped from a JSON column (columnOverrides javaType), null = JsonNode
+    private boolean ginIndex = false;   // jsonb only: GIN index in the migrations
     public boolean isJson() { return isJson; }
     public void setJson(boolean json) { isJson = json; }
 }
@@ -0,0 +1,22 @@
+package com.project.autocrud.model;
+
+import lombok.Data;
+
+/**
+ * Project-wide switches resolved from the upload request and {@code OverrideConfig.GlobalOverride}.
+ */
+@Data
+public class GenerationOptions {
+    private boolean prodProfile = false;
+    private int expectedConcurrency = 50;   // concurrent requests the generated app should sustain
+    private boolean observability = false;
+    private int maxStatementsPerRequest = 10; // SQL statement budget enforced by the generated guard test
+    private String target = "jpa";          // "jpa" (Spring MVC + JPA) or "reactive" (WebFlux + R2DBC)
+    private boolean readReplica = false;    // read-only transactions go to a replica pool, writes to the primary
+    private String templateBundle;          // hash of an uploaded template bundle, null = built-in templates
+    private boolean jsonCodecs = false;     // generated streaming Jackson serializers per entity + JMH benchmark
+
+    public boolean isReactive() {
+        return "reactive".equalsIgnoreCase(target);
+    }
+}
@@ -0,0 +1,15 @@
+package com.project.autocrud.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class IndexMetadata {
+    private String name;                          // idx_orders_user_id
+    private List<String> columns = new ArrayList<>(); // database column names, in index order
+    private boolean unique = false;
+    private String method;                        // access method other than btree, e.g. "gin"; migrations only
+    private String where;                         // partial index predicate, e.g. "deleted_at IS NULL"; plain index in @Table
+}
@@ -14,6 +14,7 @@ public class Relationship {
     private String mappedBy;           // "userProfile"
     private boolean nullable;
     private boolean orphanRemoval;
+    private String fetchMode;          // inverse OneToMany only: "batch" (@BatchSize) or "subselect"
 
     // For ManyToMany join metadata
     private String joinTableName;
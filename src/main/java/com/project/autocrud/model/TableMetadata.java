@@ -13,11 +13,22 @@ public class TableMetadata {
     private List<String> primaryKeyColumns = new ArrayList<>();
     private List<Relationship> relationships = new ArrayList<>();
     private List<String> warnings = new ArrayList<>();
+    private List<IndexMetadata> indexes = new ArrayList<>();
     private boolean hasSoftDelete = false;
     private boolean hasAudit = false;
     private boolean compositePrimaryKey = false;
     private boolean joinTable = false;
     private boolean joinTablePure = false;
+    private String softDeleteField;     // deleted_at field used by soft delete, null when hard delete
+    private String softDeleteColumn;    // its column name, reads are restricted to "<column> IS NULL"
+    private String versionField;        // field mapped with @Version, null when not versioned
+    private List<String> upsertKey = new ArrayList<>(); // conflict columns of the generated upserts, empty = none
+    private boolean jdbcMode = false;   // mapped with JdbcClient instead of JPA, associations kept as scalar keys
+    private List<ChildResource> childResources = new ArrayList<>(); // sub-resource endpoints of this (parent) table
+    private List<ChildResource> childFinders = new ArrayList<>();   // the same entries on the child: keyset finders
+    private boolean view = false;             // CREATE [MATERIALIZED] VIEW: @Immutable entity, GET endpoints only
+    private boolean materializedView = false;
+    private String viewQuery;                 // the SELECT of the view, replayed by the migrations
     public boolean isJoinTable() { return joinTable; }
     public void setJoinTable(boolean joinTable) { this.joinTable = joinTable; }
     public boolean isJoinTablePure() { return joinTablePure; }
@@ -1,16 +1,209 @@
 package com.project.autocrud.parser;
 
 import net.sf.jsqlparser.JSQLParserException;
+import net.sf.jsqlparser.expression.CastExpression;
+import net.sf.jsqlparser.expression.Expression;
+import net.sf.jsqlparser.expression.Function;
 import net.sf.jsqlparser.parser.CCJSqlParserUtil;
+import net.sf.jsqlparser.schema.Column;
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.create.table.ColDataType;
+import net.sf.jsqlparser.statement.create.table.ColumnDefinition;
 import net.sf.jsqlparser.statement.create.table.CreateTable;
+import net.sf.jsqlparser.statement.create.view.CreateView;
+import net.sf.jsqlparser.statement.select.AllColumns;
+import net.sf.jsqlparser.statement.select.AllTableColumns;
+import net.sf.jsqlparser.statement.select.FromItem;
+import net.sf.jsqlparser.statement.select.Join;
+import net.sf.jsqlparser.statement.select.ParenthesedSelect;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+import net.sf.jsqlparser.statement.select.Select;
+import net.sf.jsqlparser.statement.select.SelectItem;
+import net.sf.jsqlparser.statement.select.SetOperationList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 public class SqlParser {
+
+    /**
+     * Parses the CREATE TABLE statements, followed by the CREATE [MATERIALIZED] VIEW statements as {@link ViewDefinition}s.
+     */
     public static List<CreateTable> parse(String sql) throws JSQLParserException {
         var statements = CCJSqlParserUtil.parseStatements(sql);
-        return statements.stream()
+        List<CreateTable> result = new ArrayList<>();
+        statements.stream()
                 .filter(s -> s instanceof CreateTable)
                 .map(s -> (CreateTable) s)
-                .toList();
+                .forEach(result::add);
+        for (var statement : statements) {
+            // views may select from earlier views, so each one is resolved against everything parsed so far
+            if (statement instanceof CreateView view) result.add(toViewDefinition(view, result));
+        }
+        return result;
+    }
+
+    /**
+     * A view carried as a table: columns come from the select list, typed from the source columns they read.
+     * Expressions whose type cannot be derived get the type UNKNOWN and are listed in {@link #getUnresolvedColumns()}.
+     */
+    public static class ViewDefinition extends CreateTable {
+        private boolean materialized;
+        private String query;
+        private final List<String> unresolvedColumns = new ArrayList<>();
+
+        public boolean isMaterialized() {
+            return materialized;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public List<String> getUnresolvedColumns() {
+            return unresolvedColumns;
+        }
+    }
+
+    private static ViewDefinition toViewDefinition(CreateView view, List<CreateTable> known) {
+        ViewDefinition definition = new ViewDefinition();
+        definition.setTable(view.getView());
+        definition.materialized = view.isMaterialized();
+        definition.query = view.getSelect().toString();
+
+        List<ColumnDefinition> columns = new ArrayList<>();
+        PlainSelect select = firstPlainSelect(view.getSelect());
+        if (select != null) {
+            Map<String, CreateTable> sources = sources(select, known);
+            for (SelectItem<?> item : select.getSelectItems()) {
+                Expression expression = item.getExpression();
+                if (expression instanceof AllTableColumns all) {
+                    CreateTable source = sources.get(unquote(all.getTable().getName()).toLowerCase());
+                    if (source != null) columns.addAll(source.getColumnDefinitions());
+                } else if (expression instanceof AllColumns) {
+                    sources.values().stream().distinct().forEach(source -> columns.addAll(source.getColumnDefinitions()));
+                } else {
+                    String name = item.getAlias() != null ? item.getAlias().getName()
+                            : expression instanceof Column column ? column.getColumnName() : null;
+                    if (name == null) continue; // unnamed expression: PostgreSQL calls it ?column?, nothing to map
+                    ColDataType type = typeOf(expression, sources);
+                    if (type == null) {
+                        type = new ColDataType();
+                        type.setDataType("UNKNOWN");
+                        definition.unresolvedColumns.add(unquote(name));
+                    }
+                    columns.add(new ColumnDefinition(unquote(name), type, null));
+                }
+            }
+        }
+        // an explicit column list, CREATE VIEW v (a, b) AS ..., renames the select list in order
+        if (view.getColumnNames() != null) {
+            Iterator<ColumnDefinition> it = columns.iterator();
+            List<ColumnDefinition> renamed = new ArrayList<>();
+            for (Object name : view.getColumnNames()) {
+                ColDataType type = it.hasNext() ? it.next().getColDataType() : null;
+                if (type == null) {
+                    type = new ColDataType();
+                    type.setDataType("UNKNOWN");
+                    definition.unresolvedColumns.add(unquote(name.toString()));
+                }
+                renamed.add(new ColumnDefinition(unquote(name.toString()), type, null));
+            }
+            columns.clear();
+            columns.addAll(renamed);
+        }
+        definition.setColumnDefinitions(columns);
+        return definition;
+    }
+
+    private static PlainSelect firstPlainSelect(Select select) {
+        if (select instanceof PlainSelect plain) return plain;
+        if (select instanceof ParenthesedSelect parenthesed) return firstPlainSelect(parenthesed.getSelect());
+        if (select instanceof SetOperationList union && !union.getSelects().isEmpty()) {
+            return firstPlainSelect(union.getSelects().get(0)); // UNION branches share the column types of the first
+        }
+        return null;
+    }
+
+    // FROM and JOIN items by alias and by name, restricted to tables and views of this schema
+    private static Map<String, CreateTable> sources(PlainSelect select, List<CreateTable> known) {
+        List<FromItem> items = new ArrayList<>();
+        if (select.getFromItem() != null) items.add(select.getFromItem());
+        if (select.getJoins() != null) select.getJoins().stream().map(Join::getRightItem).forEach(items::add);
+
+        Map<String, CreateTable> sources = new HashMap<>();
+        for (FromItem item : items) {
+            if (!(item instanceof Table table)) continue;
+            String name = unquote(table.getName());
+            known.stream()
+                    .filter(t -> unquote(t.getTable().getName()).equalsIgnoreCase(name))
+                    .findFirst()
+                    .ifPresent(source -> {
+                        sources.put(name.toLowerCase(), source);
+                        if (table.getAlias() != null) sources.put(unquote(table.getAlias().getName()).toLowerCase(), source);
+                    });
+        }
+        return sources;
+    }
+
+    private static ColDataType typeOf(Expression expression, Map<String, CreateTable> sources) {
+        if (expression instanceof CastExpression cast) return cast.getColDataType();
+        if (expression instanceof Column column) {
+            ColumnDefinition source = sourceColumn(column, sources);
+            return source != null ? source.getColDataType() : null;
+        }
+        if (expression instanceof Function function) {
+            String name = function.getName().toUpperCase();
+            ColDataType argument = null;
+            if (function.getParameters() != null && function.getParameters().size() == 1) {
+                Object parameter = function.getParameters().get(0);
+                if (parameter instanceof Expression e) argument = typeOf(e, sources);
+            }
+            String argumentType = argument != null ? argument.getDataType().toUpperCase() : "";
+            // PostgreSQL result types of the common aggregates
+            return switch (name) {
+                case "COUNT" -> named("BIGINT");
+                case "SUM" -> argumentType.matches("INT|INTEGER|INT4|SMALLINT|INT2") ? named("BIGINT")
+                        : argumentType.matches("REAL|FLOAT4|DOUBLE|DOUBLE PRECISION|FLOAT8|FLOAT") ? named("DOUBLE PRECISION")
+                        : named("NUMERIC");
+                case "AVG" -> argumentType.matches("REAL|FLOAT4|DOUBLE|DOUBLE PRECISION|FLOAT8|FLOAT") ? named("DOUBLE PRECISION")
+                        : named("NUMERIC");
+                case "MIN", "MAX", "COALESCE" -> argument;
+                default -> null;
+            };
+        }
+        return null;
+    }
+
+    private static ColumnDefinition sourceColumn(Column column, Map<String, CreateTable> sources) {
+        String name = unquote(column.getColumnName());
+        if (column.getTable() != null && column.getTable().getName() != null) {
+            CreateTable source = sources.get(unquote(column.getTable().getName()).toLowerCase());
+            return source != null ? findColumn(source, name) : null;
+        }
+        return sources.values().stream()
+                .map(source -> findColumn(source, name))
+                .filter(c -> c != null)
+                .findFirst().orElse(null);
+    }
+
+    private static ColumnDefinition findColumn(CreateTable table, String name) {
+        if (table.getColumnDefinitions() == null) return null;
+        return table.getColumnDefinitions().stream()
+                .filter(c -> unquote(c.getColumnName()).equalsIgnoreCase(name))
+                .findFirst().orElse(null);
+    }
+
+    private static ColDataType named(String dataType) {
+        ColDataType type = new ColDataType();
+        type.setDataType(dataType);
+        return type;
+    }
+
+    private static String unquote(String identifier) {
+        return identifier.replace("\"", "").replace("`", "");
     }
 }
@@ -1,25 +1,125 @@
 package com.project.autocrud.service;
 
+import com.project.autocrud.model.ChildResource;
+import com.project.autocrud.model.ColumnMetadata;
+import com.project.autocrud.model.GenerationOptions;
+import com.project.autocrud.model.Relationship;
 import com.project.autocrud.model.TableMetadata;
+import com.project.autocrud.util.NameUtils;
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.StrongCacheStorage;
+import freemarker.cache.TemplateLoader;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.StringWriter;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class CodeGeneratorService {
 
+    private static final Pattern TYPE_LENGTH = Pattern.compile("\\(\\s*(\\d+)");
+
     private final Configuration freemarker;
+    private final long maxOutputChars;   // per rendered file, 0 = unbounded (built-in templates)
+    private final long deadlineNanos;    // System.nanoTime() after which rendering is refused
 
     public CodeGeneratorService() {
-        freemarker = new Configuration(Configuration.VERSION_2_3_34);
-        freemarker.setClassForTemplateLoading(this.getClass(), "/templates");
-        freemarker.setDefaultEncoding("UTF-8");
+        this(templateConfiguration(new ClassTemplateLoader(CodeGeneratorService.class, "/templates")), 0, null);
+    }
+
+    private CodeGeneratorService(Configuration freemarker, long maxOutputChars, Duration renderBudget) {
+        this.freemarker = freemarker;
+        this.maxOutputChars = maxOutputChars;
+        this.deadlineNanos = renderBudget == null ? 0 : System.nanoTime() + renderBudget.toNanos();
+    }
+
+    /**
+     * The same generator rendering with other templates, e.g. an uploaded template bundle. Every file is rendered
+     * into a writer holding at most {@code maxOutputChars}, and all files of the returned instance share one
+     * {@code renderBudget}: a template looping on its output fails with 400 instead of filling the heap.
+     */
+    public CodeGeneratorService withTemplates(Configuration templates, long maxOutputChars, Duration renderBudget) {
+        return new CodeGeneratorService(templates, maxOutputChars, renderBudget);
+    }
+
+    private StringWriter newWriter() {
+        return maxOutputChars > 0 ? new BoundedWriter(maxOutputChars, deadlineNanos) : new StringWriter();
+    }
+
+    // checked on every write, so the limits apply while the template runs rather than after it returns
+    private static final class BoundedWriter extends StringWriter {
+        private final long maxChars;
+        private final long deadlineNanos;
+
+        BoundedWriter(long maxChars, long deadlineNanos) {
+            this.maxChars = maxChars;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        private void check(int len) {
+            if (getBuffer().length() + (long) len > maxChars) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Template output exceeds " + maxChars / 1024 + " KB per file");
+            }
+            if (deadlineNanos != 0 && System.nanoTime() - deadlineNanos > 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Template rendering exceeded its time budget");
+            }
+        }
+
+        @Override
+        public void write(int c) {
+            check(1);
+            super.write(c);
+        }
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            check(len);
+            super.write(buf, off, len);
+        }
+
+        @Override
+        public void write(String str) {
+            check(str.length());
+            super.write(str);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            check(len);
+            super.write(str, off, len);
+        }
+    }
+
+    /**
+     * Template sources never change at runtime: each template is parsed on first use and kept,
+     * without soft-reference eviction or periodic up-to-date checks.
+     */
+    static Configuration templateConfiguration(TemplateLoader loader) {
+        Configuration configuration = new Configuration(Configuration.VERSION_2_3_34);
+        configuration.setTemplateLoader(loader);
+        configuration.setDefaultEncoding("UTF-8");
+        configuration.setCacheStorage(new StrongCacheStorage());
+        configuration.setTemplateUpdateDelayMilliseconds(Long.MAX_VALUE);
+        return configuration;
     }
 
     public String generateEntity(TableMetadata table, String packageName) throws Exception {
@@ -28,11 +128,13 @@ public class CodeGeneratorService {
         data.put("packageName", packageName);
         data.put("table", table);
         data.put("hasJson", table.getColumns().stream().anyMatch(c -> c.isJson()));
+        data.put("jsonTypes", table.getColumns().stream()
+                .map(ColumnMetadata::getJsonType).filter(Objects::nonNull).distinct().sorted().toList());
         data.put("hasUUID", table.getColumns().stream().anyMatch(c -> c.getJavaType().equals(java.util.UUID.class)));
         data.put("hasTime", table.getColumns().stream().anyMatch(c -> java.time.temporal.Temporal.class.isAssignableFrom(c.getJavaType())));
         data.put("hasBigDecimal", table.getColumns().stream().anyMatch(c -> c.getJavaType().equals(java.math.BigDecimal.class)));
 
-        StringWriter writer = new StringWriter();
+        StringWriter writer = newWriter();
         template.process(data, writer);
         return writer.toString();
     }
@@ -56,17 +158,21 @@ public class CodeGeneratorService {
         }
 
         data.put("pkType", pkType);
+        data.put("pkFieldName", resolvePkFieldName(table));
+        data.put("exportColumns", buildExportColumns(table));
+        putVersionInfo(data, table);
 
-        StringWriter writer = new StringWriter();
+        StringWriter writer = newWriter();
         template.process(data, writer);
         return writer.toString();
     }
 
-    public String generateService(TableMetadata table, String packageName) throws Exception {
+    public String generateService(TableMetadata table, String packageName, GenerationOptions options) throws Exception {
         Template template = freemarker.getTemplate("service.java.ftl");
         Map<String, Object> data = new HashMap<>();
         data.put("packageName", packageName);
         data.put("table", table);
+        data.put("options", options);
         // determine pk type and field name
         String servicePkType;
         String pkFieldName;
@@ -80,8 +186,24 @@ public class CodeGeneratorService {
         }
         data.put("pkType", servicePkType);
         data.put("pkFieldName", pkFieldName);
+        putVersionInfo(data, table);
+        List<Map<String, Object>> filterFields = buildFilterFields(table);
+        data.put("filterFields", filterFields);
+        Set<String> filterImports = new TreeSet<>();
+        for (Map<String, Object> f : filterFields) {
+            String fqn = (String) f.get("typeName");
+            if (!fqn.startsWith("java.lang.")) filterImports.add(fqn);
+        }
+        data.put("filterImports", filterImports);
+        data.put("exportColumns", buildExportColumns(table));
+        List<Map<String, Object>> importReferences = buildImportReferences(table);
+        data.put("importReferences", importReferences);
+        data.put("importTargets", importReferences.stream()
+                .map(r -> (String) r.get("targetClass"))
+                .filter(c -> !c.equals(table.getClassName()))
+                .collect(Collectors.toCollection(TreeSet::new)));
 
-        StringWriter writer = new StringWriter();
+        StringWriter writer = newWriter();
         template.process(data, writer);
         return writer.toString();
     }
@@ -103,12 +225,848 @@ public class CodeGeneratorService {
                     .orElse("Long");
         }
         data.put("pkType", controllerPkType);
+        putVersionInfo(data, table);
+        data.put("filterFields", buildFilterFields(table));
+        // services of the child tables behind the sub-resource endpoints
+        data.put("childServices", table.getChildResources().stream()
+                .map(ChildResource::getChildClass)
+                .filter(c -> !c.equals(table.getClassName()))
+                .collect(Collectors.toCollection(TreeSet::new)));
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Renders one file of the JdbcClient template set (templates/jdbc) for a table in jdbc mode.
+     *
+     * @param kind row, row-mapper, repository, service or controller
+     */
+    public String generateJdbc(String kind, TableMetadata table, String packageName, GenerationOptions options) throws Exception {
+        Template template = freemarker.getTemplate("jdbc/" + kind + ".java.ftl");
+        Map<String, Object> data = buildJdbcModel(table);
+        data.put("packageName", packageName);
+        data.put("table", table);
+        data.put("options", options);
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    // SQL is fixed per table, so it is built once here and emitted as constants
+    private Map<String, Object> buildJdbcModel(TableMetadata table) {
+        ColumnMetadata pk = table.getColumns().stream().filter(ColumnMetadata::isPrimaryKey).findFirst().orElseThrow();
+        String tbl = table.getTableName();
+        List<Map<String, Object>> fields = new ArrayList<>();
+        List<String> insertColumns = new ArrayList<>();
+        List<String> insertValues = new ArrayList<>();
+        List<String> updateSet = new ArrayList<>();
+        List<String> insertArgs = new ArrayList<>();  // row stamped before INSERT
+        List<String> updateArgs = new ArrayList<>();  // row stamped before UPDATE
+        List<String> keyedArgs = new ArrayList<>();   // inserted row with the generated key
+        List<String> updatedArgs = new ArrayList<>(); // updated row with the new version
+        ColumnMetadata version = null;
+
+        for (ColumnMetadata c : table.getColumns()) {
+            // JSON stays text here: no Hibernate format mapper outside JPA
+            String type = c.isJson() ? "String" : c.getJavaType() != null ? c.getJavaType().getSimpleName() : "Object";
+            String name = c.getFieldName();
+            Map<String, Object> f = new LinkedHashMap<>();
+            f.put("name", name);
+            f.put("column", c.getName());
+            f.put("type", type);
+            f.put("read", jdbcReadExpression(c, type));
+            fields.add(f);
+
+            String current = "row." + name + "()";
+            String written = "stamped." + name + "()";
+            if (c == pk) {
+                insertArgs.add(current);
+                updateArgs.add("id");
+                keyedArgs.add("id");
+                updatedArgs.add(written);
+            } else if (c.isCreatedAt()) {
+                insertArgs.add("now");
+                updateArgs.add(current);
+                keyedArgs.add(written);
+                updatedArgs.add(written);
+            } else if (c.isUpdatedAt()) {
+                insertArgs.add("now");
+                updateArgs.add("now");
+                keyedArgs.add(written);
+                updatedArgs.add(written);
+            } else if (c.isVersion()) {
+                version = c;
+                insertArgs.add(zeroLiteral(type));
+                updateArgs.add(current);
+                keyedArgs.add(written);
+                updatedArgs.add(incremented(written, type));
+            } else {
+                insertArgs.add(current);
+                updateArgs.add(current);
+                keyedArgs.add(written);
+                updatedArgs.add(written);
+            }
+
+            if (!(c == pk && c.isAutoIncrement())) {
+                insertColumns.add(c.getName());
+                insertValues.add(":" + name);
+            }
+            if (c == pk || c.isCreatedAt()) continue;
+            updateSet.add(c.isVersion() ? c.getName() + " = " + c.getName() + " + 1" : c.getName() + " = :" + name);
+        }
+
+        String where = " WHERE " + pk.getName() + " = :" + pk.getFieldName();
+        String softDeleteColumn = null;
+        if (table.isHasSoftDelete() && table.getSoftDeleteField() != null) {
+            softDeleteColumn = table.getColumns().stream()
+                    .filter(c -> c.getFieldName().equals(table.getSoftDeleteField()))
+                    .map(ColumnMetadata::getName)
+                    .findFirst().orElse(null);
+        }
+        String deletePrefix = softDeleteColumn != null
+                ? "UPDATE " + tbl + " SET " + softDeleteColumn + " = CURRENT_TIMESTAMP"
+                : "DELETE FROM " + tbl;
+        // soft-deleted rows are gone for writes too: no update, and a second delete keeps the first timestamp
+        String live = softDeleteColumn != null ? " AND " + softDeleteColumn + " IS NULL" : "";
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("fields", fields);
+        data.put("pkField", pk.getFieldName());
+        data.put("pkColumn", pk.getName());
+        data.put("pkType", pk.getJavaType() != null ? pk.getJavaType().getSimpleName() : "Long");
+        data.put("autoPk", pk.isAutoIncrement());
+        data.put("keyConversion", "Integer".equals(data.get("pkType")) ? "intValue()" : "longValue()");
+        if (version != null) data.put("versionField", version.getFieldName());
+        data.put("selectSql", "SELECT " + String.join(", ", table.getColumns().stream().map(ColumnMetadata::getName).toList())
+                + " FROM " + tbl + (softDeleteColumn != null ? " WHERE " + softDeleteColumn + " IS NULL" : ""));
+        if (softDeleteColumn != null) data.put("softDeleteColumn", softDeleteColumn);
+        data.put("insertSql", "INSERT INTO " + tbl + " (" + String.join(", ", insertColumns) + ") VALUES ("
+                + String.join(", ", insertValues) + ")");
+        data.put("updateSql", "UPDATE " + tbl + " SET " + String.join(", ", updateSet) + where
+                + (version != null ? " AND " + version.getName() + " = :" + version.getFieldName() : "") + live);
+        data.put("deleteSql", deletePrefix + where + live);
+        data.put("deleteAllSql", deletePrefix + " WHERE " + pk.getName() + " IN (:ids)" + live);
+        data.put("insertArgs", insertArgs);
+        data.put("updateArgs", updateArgs);
+        data.put("keyedArgs", keyedArgs);
+        data.put("updatedArgs", updatedArgs);
+        data.put("stamped", table.getColumns().stream().anyMatch(c -> c.isCreatedAt() || c.isUpdatedAt()));
+        data.put("hasBigDecimal", table.getColumns().stream().anyMatch(c -> java.math.BigDecimal.class.equals(c.getJavaType())));
+        data.put("hasUUID", table.getColumns().stream().anyMatch(c -> java.util.UUID.class.equals(c.getJavaType())));
+        return data;
+    }
+
+    private String jdbcReadExpression(ColumnMetadata c, String type) {
+        String column = "\"" + c.getName() + "\"";
+        return switch (type) {
+            case "String" -> "rs.getString(" + column + ")";
+            case "byte[]" -> "rs.getBytes(" + column + ")";
+            case "Object" -> "rs.getObject(" + column + ")";
+            default -> "rs.getObject(" + column + ", " + type + ".class)";
+        };
+    }
+
+    private String zeroLiteral(String type) {
+        return switch (type) {
+            case "Long" -> "0L";
+            case "Short" -> "(short) 0";
+            default -> "0";
+        };
+    }
+
+    private String incremented(String expr, String type) {
+        String plusOne = "Short".equals(type) ? "(short) (" + expr + " + 1)" : expr + " + 1";
+        return expr + " == null ? null : " + plusOne;
+    }
+
+    /**
+     * Renders one file of the read-only template set (templates/view) for a view or materialized view.
+     *
+     * @param kind repository, service or controller
+     */
+    public String generateView(String kind, TableMetadata table, String packageName, GenerationOptions options) throws Exception {
+        Template template = freemarker.getTemplate("view/" + kind + ".java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("table", table);
+        data.put("options", options);
+        data.put("pkType", table.isCompositePrimaryKey() ? table.getClassName() + "Id" : table.getColumns().stream()
+                .filter(c -> table.getPrimaryKeyColumns().contains(c.getFieldName()))
+                .findFirst()
+                .map(c -> c.getJavaType().getSimpleName())
+                .orElse("Long"));
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    /** Spring Data R2DBC has no composite or embedded ids, such tables get no reactive endpoints; views are JPA only. */
+    public boolean supportsReactive(TableMetadata table) {
+        return !table.isView() && !table.isCompositePrimaryKey() && !table.isJoinTablePure() && table.getPrimaryKeyColumns().size() == 1;
+    }
+
+    /**
+     * Renders one file of the WebFlux + R2DBC template set (templates/reactive).
+     *
+     * @param kind entity, repository, service or controller
+     */
+    public String generateReactive(String kind, TableMetadata table, String packageName) throws Exception {
+        Template template = freemarker.getTemplate("reactive/" + kind + ".java.ftl");
+        Map<String, Object> data = buildReactiveModel(table);
+        data.put("packageName", packageName);
+        data.put("table", table);
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    /** What the reactive target maps differently from JPA, for the generation report. */
+    public List<String> reactiveWarnings(TableMetadata table) {
+        List<String> warnings = new ArrayList<>();
+        if (table.isJoinTablePure()) return warnings;
+        if (table.isView()) {
+            warnings.add("R2DBC_VIEW: " + table.getTableName() + " is a view, the reactive target maps tables only;"
+                    + " no entity or endpoints generated");
+            return warnings;
+        }
+        if (!supportsReactive(table)) {
+            warnings.add("R2DBC_COMPOSITE_KEY: " + table.getTableName()
+                    + " has a composite primary key, Spring Data R2DBC cannot map it; no entity or endpoints generated");
+            return warnings;
+        }
+        for (Relationship rel : table.getRelationships()) {
+            if (rel.getFkColumn() != null && (rel.getMappedBy() == null || rel.getMappedBy().isEmpty())) {
+                warnings.add("R2DBC_RELATIONSHIP: " + rel.getRelationshipType() + " " + rel.getFieldName()
+                        + " mapped as its key " + NameUtils.toCamelCase(rel.getFkColumn())
+                        + ", load the " + rel.getTargetClass() + " separately");
+            } else {
+                warnings.add("R2DBC_RELATIONSHIP: " + rel.getRelationshipType() + " " + rel.getFieldName()
+                        + " not mapped, query the " + rel.getTargetClass() + " endpoints by foreign key instead");
+            }
+        }
+        for (ColumnMetadata c : table.getColumns()) {
+            if (c.isJson()) {
+                warnings.add("R2DBC_JSON: " + c.getName() + " is mapped as String; r2dbc-postgresql needs a ::json cast"
+                        + " or io.r2dbc.postgresql.codec.Json to write it");
+            }
+        }
+        return warnings;
+    }
+
+    private Map<String, Object> buildReactiveModel(TableMetadata table) {
+        ColumnMetadata pk = table.getColumns().stream()
+                .filter(c -> c.getFieldName().equals(table.getPrimaryKeyColumns().get(0)))
+                .findFirst().orElseThrow();
+        List<Map<String, Object>> fields = new ArrayList<>();
+        List<Map<String, Object>> finders = new ArrayList<>();
+        for (ColumnMetadata c : table.getColumns()) {
+            String type = c.isJson() ? "String" : c.getJavaType() != null ? c.getJavaType().getSimpleName() : "Object";
+            Map<String, Object> f = new LinkedHashMap<>();
+            f.put("column", c.getName());
+            f.put("name", c.getFieldName());
+            f.put("type", type);
+            f.put("id", c == pk);
+            f.put("version", c.isVersion());
+            f.put("createdAt", c.isCreatedAt());
+            f.put("updatedAt", c.isUpdatedAt());
+            Optional<Relationship> rel = table.getRelationships().stream()
+                    .filter(r -> c.getName().equals(r.getFkColumn()))
+                    .findFirst();
+            f.put("foreignKey", rel.isPresent());
+            if (rel.isPresent()) {
+                f.put("relationship", rel.get().getRelationshipType());
+                f.put("relationshipField", rel.get().getFieldName());
+                f.put("referencedTable", c.getReferencedTable() != null ? c.getReferencedTable() : rel.get().getTargetTable());
+                f.put("referencedColumn", c.getReferencedColumn() != null ? c.getReferencedColumn() : "id");
+
+                Map<String, Object> finder = new LinkedHashMap<>();
+                finder.put("method", "findAllBy" + StringUtils.capitalize(c.getFieldName()));
+                finder.put("name", c.getFieldName());
+                finder.put("column", c.getName());
+                finder.put("type", type);
+                finder.put("path", "by-" + NameUtils.toKebabCase(c.getName()));
+                finder.put("relationshipField", rel.get().getFieldName());
+                finders.add(finder);
+            }
+            fields.add(f);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("fields", fields);
+        data.put("finders", finders);
+        data.put("pkType", pk.getJavaType() != null ? pk.getJavaType().getSimpleName() : "Long");
+        data.put("pkField", pk.getFieldName());
+        data.put("pkColumn", pk.getName());
+        data.put("hasBigDecimal", table.getColumns().stream().anyMatch(c -> java.math.BigDecimal.class.equals(c.getJavaType())));
+        data.put("hasUUID", table.getColumns().stream().anyMatch(c -> java.util.UUID.class.equals(c.getJavaType())));
+        if (table.isHasSoftDelete() && table.getSoftDeleteField() != null) {
+            table.getColumns().stream()
+                    .filter(c -> c.getFieldName().equals(table.getSoftDeleteField()))
+                    .findFirst()
+                    .ifPresent(c -> data.put("softDeleteColumn", c.getName()));
+        }
+        return data;
+    }
+
+    /** Custom repository fragment with the upsert methods, only for tables that have an upsert key. */
+    public String generateRepositoryCustom(TableMetadata table, String packageName) throws Exception {
+        Template template = freemarker.getTemplate("repository-custom.java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("table", table);
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    public String generateRepositoryCustomImpl(TableMetadata table, String packageName) throws Exception {
+        Template template = freemarker.getTemplate("repository-upsert.java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("table", table);
+        data.putAll(buildUpsertModel(table));
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    /**
+     * @param orderedTables tables in FK dependency order (see SchemaAnalyzerService#dependencyOrder)
+     */
+    public String generateSeedData(List<TableMetadata> orderedTables, String packageName) throws Exception {
+        Template template = freemarker.getTemplate("seed-data-generator.java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("seedTables", buildSeedTables(orderedTables));
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    public String generateLoadTestRunner(List<TableMetadata> orderedTables, String packageName, String appClassName) throws Exception {
+        Template template = freemarker.getTemplate("load-test-runner.java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("appClassName", appClassName);
+        data.put("seedTables", buildSeedTables(orderedTables));
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    public String generateSqlStatementGuardTest(List<TableMetadata> orderedTables, String packageName, GenerationOptions options) throws Exception {
+        Template template = freemarker.getTemplate("sql-statement-guard-test.java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("maxStatements", options.getMaxStatementsPerRequest());
+        data.put("seedTables", buildSeedTables(orderedTables));
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    // Per-table seed model: one Java value expression per inserted column, evaluated for row index "i"
+    private List<Map<String, Object>> buildSeedTables(List<TableMetadata> orderedTables) {
+        Map<String, TableMetadata> byName = new HashMap<>();
+        orderedTables.forEach(t -> byName.put(t.getTableName().toLowerCase(), t));
+        Set<String> seeded = new HashSet<>();
+        List<Map<String, Object>> result = new ArrayList<>();
+
+        for (TableMetadata t : orderedTables) {
+            List<String> keyDimensions = new ArrayList<>(); // FK columns whose values must not repeat
+            boolean uniqueFk = false;
+            List<Map<String, Object>> columns = new ArrayList<>();
+
+            for (ColumnMetadata c : t.getColumns()) {
+                if (c.isAutoIncrement()) continue;
+                String expr;
+                String jsonPath = c.getFieldName();
+                if (c.isForeignKey() && c.getReferencedTable() != null) {
+                    String ref = "\"" + c.getReferencedTable() + "\", \"" + c.getReferencedColumn() + "\"";
+                    if (!seeded.contains(c.getReferencedTable().toLowerCase())) {
+                        expr = "null"; // self reference or cycle: parent rows do not exist yet
+                    } else if (c.isPrimaryKey() || c.isUnique()) {
+                        String index = keyDimensions.isEmpty() ? "i" : "i / (" + String.join(" * ", keyDimensions) + ")";
+                        expr = "keyAt(" + ref + ", " + index + ")";
+                        keyDimensions.add("keys(" + ref + ").size()");
+                        uniqueFk |= c.isUnique();
+                    } else {
+                        expr = "randomKey(" + ref + ")";
+                    }
+                    jsonPath = relationshipJsonPath(t, c, byName.get(c.getReferencedTable().toLowerCase()));
+                } else {
+                    expr = seedValue(c);
+                }
+                if (c.isVersion() || c.isCreatedAt() || c.isUpdatedAt() || c.isDeletedAt()) jsonPath = null;
+
+                Map<String, Object> col = new LinkedHashMap<>();
+                col.put("name", c.getName());
+                col.put("expr", expr);
+                if (jsonPath != null) col.put("jsonPath", jsonPath);
+                columns.add(col);
+            }
+
+            boolean singlePk = !t.isCompositePrimaryKey() && t.getPrimaryKeyColumns().size() == 1;
+            String pkColumn = singlePk ? t.getColumns().stream()
+                    .filter(c -> c.getFieldName().equals(t.getPrimaryKeyColumns().get(0)))
+                    .map(ColumnMetadata::getName)
+                    .findFirst().orElse(null) : null;
+            boolean autoPk = singlePk && t.getColumns().stream().anyMatch(c -> c.isPrimaryKey() && c.isAutoIncrement());
+
+            Map<String, Object> model = new LinkedHashMap<>();
+            model.put("tableName", t.getTableName());
+            model.put("path", t.getEndpointPath());
+            model.put("rowMethod", NameUtils.pascalToCamel(t.getClassName()) + "Row");
+            model.put("constName", t.getTableName().toUpperCase().replaceAll("[^A-Z0-9]", "_"));
+            model.put("rowsExpr", keyDimensions.isEmpty() ? "rowsPerTable"
+                    : "(int) Math.min(rowsPerTable, (long) " + String.join(" * ", keyDimensions) + ")");
+            model.put("columns", columns);
+            model.put("endpoint", !t.isJoinTablePure());
+            model.put("patchable", !t.isJdbcMode());
+            if (pkColumn != null) model.put("pkColumn", pkColumn);
+            // POST only where the database assigns the key and no unique FK can collide
+            model.put("creatable", !t.isJoinTablePure() && autoPk && !uniqueFk && pkColumn != null);
+            result.add(model);
+            seeded.add(t.getTableName().toLowerCase());
+        }
+        return result;
+    }
+
+    private String relationshipJsonPath(TableMetadata t, ColumnMetadata fkCol, TableMetadata target) {
+        String relField = t.getRelationships().stream()
+                .filter(r -> fkCol.getName().equals(r.getFkColumn()))
+                .map(r -> r.getFieldName())
+                .findFirst().orElse(null);
+        if (relField == null) return fkCol.getFieldName(); // scalar key (jdbc mode on either side)
+        if (target == null) return null;
+        String targetField = target.getColumns().stream()
+                .filter(c -> c.getName().equals(fkCol.getReferencedColumn()))
+                .map(ColumnMetadata::getFieldName)
+                .findFirst().orElse("id");
+        return relField + "." + targetField;
+    }
+
+    private String seedValue(ColumnMetadata c) {
+        if (c.isVersion()) return "0";
+        if (c.isDeletedAt()) return "null";
+        if (c.isCreatedAt() || c.isUpdatedAt()) return "LocalDateTime.now()";
+        if (c.isJson()) return "\"{\\\"seed\\\": \" + i + \"}\"";
 
-        StringWriter writer = new StringWriter();
+        boolean distinct = c.isUnique() || c.isPrimaryKey();
+        String type = c.getJavaType() != null ? c.getJavaType().getSimpleName() : "Object";
+        return switch (type) {
+            case "String" -> "text(\"" + c.getFieldName() + "-\", i, " + maxLength(c) + ")";
+            case "Long" -> distinct ? "(long) i + 1" : "(long) random.nextInt(1_000_000)";
+            case "Integer" -> distinct ? "i + 1" : "random.nextInt(1_000)";
+            case "BigDecimal" -> distinct ? "BigDecimal.valueOf(i + 1)" : "BigDecimal.valueOf(random.nextInt(1_000_000), 2)";
+            case "Double" -> distinct ? "(double) i + 1" : "random.nextDouble() * 1000";
+            case "Boolean" -> "random.nextBoolean()";
+            case "LocalDate" -> distinct ? "LocalDate.of(2000, 1, 1).plusDays(i)" : "LocalDate.now().minusDays(random.nextInt(3650))";
+            case "LocalDateTime" -> distinct ? "LocalDateTime.of(2000, 1, 1, 0, 0).plusSeconds(i)"
+                    : "LocalDateTime.now().minusMinutes(random.nextInt(525_600))";
+            case "LocalTime" -> distinct ? "LocalTime.ofSecondOfDay(i % 86_400)" : "LocalTime.ofSecondOfDay(random.nextInt(86_400))";
+            case "UUID" -> "UUID.randomUUID()";
+            case "byte[]" -> "bytes(64)";
+            default -> c.isNullable() ? "null" : "String.valueOf(i)";
+        };
+    }
+
+    private int maxLength(ColumnMetadata c) {
+        if (c.getSqlTypeDefinition() != null) {
+            Matcher m = TYPE_LENGTH.matcher(c.getSqlTypeDefinition());
+            if (m.find()) return Integer.parseInt(m.group(1));
+        }
+        return 255;
+    }
+
+    public String generateSupportClass(String templateName, String packageName) throws Exception {
+        Template template = freemarker.getTemplate(templateName);
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    /** Streaming Jackson serializer + deserializer of one entity (option jsonCodecs). */
+    public String generateJsonCodec(TableMetadata table, String packageName) throws Exception {
+        Template template = freemarker.getTemplate("json-codec.java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("table", table);
+        data.put("fields", buildJsonFields(table, packageName));
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    public String generateJsonModule(List<TableMetadata> entities, String packageName) throws Exception {
+        Template template = freemarker.getTemplate("entity-json-module.java.ftl");
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("classNames", entities.stream().map(TableMetadata::getClassName).toList());
+
+        StringWriter writer = newWriter();
         template.process(data, writer);
         return writer.toString();
     }
 
+    /** JMH benchmark of the codecs against the reflective mapping, one sample JSON row per entity. */
+    public String generateJsonBenchmark(List<TableMetadata> entities, String packageName) throws Exception {
+        Template template = freemarker.getTemplate("json-benchmark.java.ftl");
+        List<Map<String, Object>> samples = new ArrayList<>();
+        for (TableMetadata table : entities) {
+            Map<String, Object> sample = new HashMap<>();
+            sample.put("className", table.getClassName());
+            sample.put("json", sampleJson(buildJsonFields(table, packageName)).replace("\\", "\\\\").replace("\"", "\\\""));
+            samples.add(sample);
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("packageName", packageName);
+        data.put("samples", samples);
+
+        StringWriter writer = newWriter();
+        template.process(data, writer);
+        return writer.toString();
+    }
+
+    /**
+     * Properties of the entity in declaration order, i.e. the order Jackson's bean serializer uses.
+     * kind: string, long, int, double, boolean, decimal, uuid (direct parser/generator calls),
+     * set (collection of another entity), ignored (@JsonIgnore) or value (delegated to Jackson by type).
+     */
+    private List<Map<String, Object>> buildJsonFields(TableMetadata table, String packageName) {
+        String entityPackage = packageName + ".entity.";
+        List<Map<String, Object>> fields = new ArrayList<>();
+        Set<String> idRelationships = new HashSet<>();
+        if (table.isCompositePrimaryKey() && table.isJoinTable()) {
+            for (Relationship rel : table.getRelationships()) {
+                boolean inKey = table.getColumns().stream()
+                        .anyMatch(c -> c.getName().equals(rel.getFkColumn()) && c.isPrimaryKey());
+                if (!inKey) continue;
+                fields.add(jsonField(rel.getFieldName(), "value", entityPackage + rel.getTargetClass()));
+                idRelationships.add(rel.getFieldName());
+            }
+        } else if (table.isCompositePrimaryKey()) {
+            fields.add(jsonField("id", "value", entityPackage + table.getClassName() + "Id"));
+        } else {
+            table.getColumns().stream().filter(ColumnMetadata::isPrimaryKey).findFirst()
+                    .ifPresent(pk -> fields.add(scalarJsonField(pk.getFieldName(), pk.getJavaType())));
+        }
+
+        for (ColumnMetadata c : table.getColumns()) {
+            if (c.isPrimaryKey() || table.getRelationships().stream().anyMatch(r -> c.getName().equals(r.getFkColumn()))) continue;
+            if (c.isVersion()) {
+                fields.add(scalarJsonField(c.getFieldName(), c.getJavaType()));
+            } else if (c.isCreatedAt() || c.isUpdatedAt() || c.isDeletedAt()) {
+                fields.add(jsonField(c.getFieldName(), "value", "java.time.LocalDateTime"));
+            } else if (c.isEnum()) {
+                fields.add(jsonField(c.getFieldName(), "value", entityPackage + c.getEnumName()));
+            } else if (c.isJson() && !String.class.equals(c.getJavaType())) {
+                fields.add(jsonField(c.getFieldName(), "value",
+                        c.getJsonType() != null ? c.getJsonType() : "com.fasterxml.jackson.databind.JsonNode"));
+            } else {
+                Map<String, Object> field = scalarJsonField(c.getFieldName(), c.getJavaType());
+                field.put("lazy", c.isLazy());
+                fields.add(field);
+            }
+        }
+
+        for (Relationship rel : table.getRelationships()) {
+            if (idRelationships.contains(rel.getFieldName())) continue;
+            String target = entityPackage + rel.getTargetClass();
+            String type = rel.getRelationshipType() != null ? rel.getRelationshipType() : "ManyToOne";
+            if (type.matches("(?i)OneToMany|ManyToMany")) {
+                boolean inverse = rel.getMappedBy() != null && !rel.getMappedBy().isEmpty();
+                fields.add(jsonField(rel.getFieldName(), inverse ? "ignored" : "set", target));
+            } else {
+                fields.add(jsonField(rel.getFieldName(), "value", target));
+            }
+        }
+        return fields;
+    }
+
+    private Map<String, Object> scalarJsonField(String name, Class<?> javaType) {
+        if (javaType == null) return jsonField(name, "value", "java.lang.Object");
+        String kind = switch (javaType.getSimpleName()) {
+            case "String" -> "string";
+            case "Long" -> "long";
+            case "Integer" -> "int";
+            case "Double" -> "double";
+            case "Boolean" -> "boolean";
+            case "BigDecimal" -> "decimal";
+            case "UUID" -> "uuid";
+            default -> "value";
+        };
+        return jsonField(name, kind, javaType.getCanonicalName());
+    }
+
+    private Map<String, Object> jsonField(String name, String kind, String type) {
+        Map<String, Object> field = new LinkedHashMap<>();
+        field.put("name", name);
+        field.put("kind", kind);
+        field.put("type", type);
+        field.put("lazy", false);
+        return field;
+    }
+
+    // scalar properties only: the benchmark rows carry no associations
+    private String sampleJson(List<Map<String, Object>> fields) {
+        List<String> properties = new ArrayList<>();
+        for (Map<String, Object> f : fields) {
+            String type = (String) f.get("type");
+            String value = switch ((String) f.get("kind")) {
+                case "string" -> "\"Sample text for the benchmark\"";
+                case "long", "int" -> "4242";
+                case "double" -> "1234.5";
+                case "boolean" -> "true";
+                case "decimal" -> "19.99";
+                case "uuid" -> "\"3f2504e0-4f89-11d3-9a0c-0305e82c3301\"";
+                default -> switch (type) {
+                    case "java.time.LocalDateTime" -> "\"2024-05-01T10:15:30\"";
+                    case "java.time.LocalDate" -> "\"2024-05-01\"";
+                    case "java.time.LocalTime" -> "\"10:15:30\"";
+                    case "java.time.OffsetDateTime", "java.time.Instant" -> "\"2024-05-01T10:15:30Z\"";
+                    case "com.fasterxml.jackson.databind.JsonNode" -> "{\"sample\":true}";
+                    default -> null;
+                };
+            };
+            if (value != null) properties.add("\"" + f.get("name") + "\":" + value);
+        }
+        return "{" + String.join(",", properties) + "}";
+    }
+
+    // Filterable fields: indexed columns only, addressed by parameter name -> attribute path
+    private List<Map<String, Object>> buildFilterFields(TableMetadata table) {
+        boolean embeddedId = table.isCompositePrimaryKey() && !table.isJoinTable();
+        List<Map<String, Object>> fields = new ArrayList<>();
+        for (ColumnMetadata c : table.getColumns()) {
+            Class<?> type = c.getJavaType();
+            if (!c.isIndexed() || c.isJson() || type == null || type.equals(Object.class) || type.equals(byte[].class)) continue;
+
+            List<String> path = new ArrayList<>();
+            Optional<Relationship> rel = table.getRelationships().stream()
+                    .filter(r -> c.getName().equals(r.getFkColumn()))
+                    .findFirst();
+            if (rel.isPresent() && c.getReferencedColumn() != null) {
+                // userId -> user.id, resolved from the FK column without joining the parent
+                path.add(rel.get().getFieldName());
+                path.add(NameUtils.toCamelCase(c.getReferencedColumn()));
+            } else if (rel.isPresent()) {
+                continue;
+            } else if (embeddedId && c.isPrimaryKey()) {
+                path.add("id");
+                path.add(c.getFieldName());
+            } else {
+                path.add(c.getFieldName());
+            }
+
+            Map<String, Object> field = new LinkedHashMap<>();
+            field.put("param", c.getFieldName());
+            field.put("type", type.getSimpleName());
+            field.put("typeName", type.getName());
+            field.put("path", path);
+            fields.add(field);
+        }
+        return fields;
+    }
+
+    // Upsert SQL per dialect plus one named parameter per written column, read from the entity getters
+    Map<String, Object> buildUpsertModel(TableMetadata table) {
+        boolean embeddedId = table.isCompositePrimaryKey() && !table.isJoinTable();
+        String tbl = table.getTableName();
+        List<String> key = table.getUpsertKey();
+        List<String> columns = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        List<String> pgValues = new ArrayList<>();
+        List<String> pgSet = new ArrayList<>();
+        List<String> mysqlSet = new ArrayList<>();
+        List<String> mergeSet = new ArrayList<>();
+        List<Map<String, Object>> params = new ArrayList<>();
+        String versionColumn = null;
+        String versionParam = null;
+
+        for (ColumnMetadata c : table.getColumns()) {
+            if (c.isAutoIncrement()) continue;
+            String name = c.getName();
+            String value;
+            if (c.isCreatedAt() || c.isUpdatedAt()) {
+                value = "CURRENT_TIMESTAMP";
+            } else if (c.isVersion()) {
+                // new rows start at 0; an existing row is only replaced when the body carries its current version
+                value = "0";
+                versionColumn = name;
+                versionParam = name.replaceAll("[^A-Za-z0-9_]", "_");
+                Map<String, Object> p = new LinkedHashMap<>();
+                p.put("name", versionParam);
+                p.put("expr", "e.get" + StringUtils.capitalize(c.getFieldName()) + "()");
+                params.add(p);
+            } else {
+                String expr = upsertValueExpression(table, c, embeddedId);
+                if (expr == null) continue; // FK column without a mapped association
+                String param = name.replaceAll("[^A-Za-z0-9_]", "_");
+                value = ":" + param;
+                Map<String, Object> p = new LinkedHashMap<>();
+                p.put("name", param);
+                // JSON is bound as text, PostgreSQL needs the explicit cast for json/jsonb columns
+                p.put("expr", c.isJson() && !String.class.equals(c.getJavaType()) ? "json(" + expr + ")" : expr);
+                params.add(p);
+            }
+            columns.add(name);
+            values.add(value);
+            pgValues.add(c.isJson() ? "CAST(" + value + " AS " + c.getSqlType().toLowerCase() + ")" : value);
+
+            if (key.contains(name) || c.isPrimaryKey() || c.isCreatedAt() || c.isVersion()) continue;
+            if (c.isUpdatedAt()) {
+                pgSet.add(name + " = CURRENT_TIMESTAMP");
+                mysqlSet.add(name + " = CURRENT_TIMESTAMP");
+                mergeSet.add(name + " = CURRENT_TIMESTAMP");
+            } else {
+                pgSet.add(name + " = EXCLUDED." + name);
+                mysqlSet.add(name + " = VALUES(" + name + ")");
+                mergeSet.add(name + " = s." + name);
+            }
+        }
+
+        String pgWhere = "";
+        String mergeWhen = "";
+        if (versionColumn != null) {
+            // MySQL has no WHERE on ON DUPLICATE KEY UPDATE: each assignment keeps the stored value unless the versions
+            // match, and the version goes last since later assignments already see the updated columns
+            String matches = versionColumn + " = :" + versionParam;
+            mysqlSet.replaceAll(a -> {
+                String column = a.substring(0, a.indexOf(" = "));
+                return column + " = IF(" + matches + ", " + a.substring(a.indexOf(" = ") + 3) + ", " + column + ")";
+            });
+            mysqlSet.add(versionColumn + " = IF(" + matches + ", " + versionColumn + " + 1, " + versionColumn + ")");
+            pgSet.add(versionColumn + " = " + tbl + "." + versionColumn + " + 1");
+            pgWhere = " WHERE " + tbl + "." + matches;
+            mergeSet.add(versionColumn + " = t." + versionColumn + " + 1");
+            mergeWhen = " AND t." + matches;
+        }
+
+        String insert = "INSERT INTO " + tbl + " (" + String.join(", ", columns) + ") VALUES (" + String.join(", ", values) + ")";
+        // a uniqueAmongLive key is a partial index, ON CONFLICT has to name its predicate
+        boolean partialKey = table.isHasSoftDelete() && table.getSoftDeleteColumn() != null && table.getColumns().stream()
+                .anyMatch(c -> key.contains(c.getName()) && c.isUniqueAmongLive());
+        String conflictWhere = partialKey ? " WHERE " + table.getSoftDeleteColumn() + " IS NULL" : "";
+        String postgres = "INSERT INTO " + tbl + " (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", pgValues) + ")" + " ON CONFLICT (" + String.join(", ", key) + ")" + conflictWhere
+                + (pgSet.isEmpty() ? " DO NOTHING" : " DO UPDATE SET " + String.join(", ", pgSet) + pgWhere);
+        String mysql = insert + " ON DUPLICATE KEY UPDATE "
+                + (mysqlSet.isEmpty() ? key.get(0) + " = " + key.get(0) : String.join(", ", mysqlSet));
+        String merge = "MERGE INTO " + tbl + " t USING (VALUES (" + String.join(", ", values) + ")) s ("
+                + String.join(", ", columns) + ") ON ("
+                + String.join(" AND ", key.stream().map(k -> "t." + k + " = s." + k).toList()) + ")"
+                + (mergeSet.isEmpty() ? "" : " WHEN MATCHED" + mergeWhen + " THEN UPDATE SET " + String.join(", ", mergeSet))
+                + " WHEN NOT MATCHED THEN INSERT (" + String.join(", ", columns) + ") VALUES ("
+                + String.join(", ", columns.stream().map(col -> "s." + col).toList()) + ")";
+
+        Map<String, Object> model = new HashMap<>();
+        model.put("upsertParams", params);
+        model.put("upsertJson", table.getColumns().stream().anyMatch(c -> c.isJson() && !String.class.equals(c.getJavaType())));
+        model.put("postgresSql", postgres);
+        model.put("mysqlSql", mysql);
+        model.put("mergeSql", merge);
+        model.put("versioned", versionColumn != null);
+        return model;
+    }
+
+    private String upsertValueExpression(TableMetadata table, ColumnMetadata c, boolean embeddedId) {
+        if (embeddedId && c.isPrimaryKey()) {
+            String getter = "getId().get" + StringUtils.capitalize(c.getFieldName()) + "()";
+            return "e.getId() == null ? null : e." + getter;
+        }
+        Optional<Relationship> rel = table.getRelationships().stream()
+                .filter(r -> c.getName().equals(r.getFkColumn()))
+                .findFirst();
+        if (rel.isPresent() && c.getReferencedColumn() != null) {
+            String relGetter = "e.get" + StringUtils.capitalize(rel.get().getFieldName()) + "()";
+            return relGetter + " == null ? null : " + relGetter
+                    + ".get" + StringUtils.capitalize(NameUtils.toCamelCase(c.getReferencedColumn())) + "()";
+        }
+        if (rel.isPresent()) return null;
+        return "e.get" + StringUtils.capitalize(c.getFieldName()) + "()";
+    }
+
+    // Export projection: attribute paths in column order, FKs as "user.id" so the parent is never joined
+    private List<String> buildExportColumns(TableMetadata table) {
+        boolean embeddedId = table.isCompositePrimaryKey() && !table.isJoinTable();
+        List<String> paths = new ArrayList<>();
+        for (ColumnMetadata c : table.getColumns()) {
+            Optional<Relationship> rel = table.getRelationships().stream()
+                    .filter(r -> c.getName().equals(r.getFkColumn()))
+                    .findFirst();
+            if (embeddedId && c.isPrimaryKey()) {
+                paths.add("id." + c.getFieldName());
+            } else if (rel.isPresent() && c.getReferencedColumn() != null) {
+                paths.add(rel.get().getFieldName() + "." + NameUtils.toCamelCase(c.getReferencedColumn()));
+            } else if (rel.isEmpty()) {
+                paths.add(c.getFieldName());
+            }
+        }
+        return paths;
+    }
+
+    // Imported rows carry parent keys only ("user.id"), each one is swapped for a proxy so persist never cascades
+    private List<Map<String, Object>> buildImportReferences(TableMetadata table) {
+        boolean embeddedId = table.isCompositePrimaryKey() && !table.isJoinTable();
+        List<Map<String, Object>> refs = new ArrayList<>();
+        for (Relationship rel : table.getRelationships()) {
+            if (rel.getFkColumn() == null || rel.getMappedBy() != null && !rel.getMappedBy().isEmpty()) continue;
+            if (rel.getRelationshipType() != null && rel.getRelationshipType().matches("(?i)OneToMany|ManyToMany")) continue;
+            ColumnMetadata c = table.getColumns().stream()
+                    .filter(col -> col.getName().equals(rel.getFkColumn()))
+                    .findFirst().orElse(null);
+            if (c == null || !c.isReferencesPrimaryKey()) continue;
+
+            String relGetter = "entity.get" + StringUtils.capitalize(rel.getFieldName()) + "()";
+            String value;
+            String guard;
+            if (embeddedId && c.isPrimaryKey()) {
+                // exported as id.<field>, @MapsId needs the association populated as well
+                value = "entity.getId().get" + StringUtils.capitalize(c.getFieldName()) + "()";
+                guard = "entity.getId() != null && " + value + " != null";
+            } else {
+                value = relGetter + ".get" + StringUtils.capitalize(NameUtils.toCamelCase(c.getReferencedColumn())) + "()";
+                guard = relGetter + " != null";
+            }
+            Map<String, Object> ref = new LinkedHashMap<>();
+            ref.put("targetClass", rel.getTargetClass());
+            ref.put("setter", "set" + StringUtils.capitalize(rel.getFieldName()));
+            ref.put("guard", guard);
+            ref.put("value", value);
+            refs.add(ref);
+        }
+        return refs;
+    }
+
+    private String resolvePkFieldName(TableMetadata table) {
+        // composite keys are mapped as @EmbeddedId named "id"
+        if (table.isCompositePrimaryKey() && !table.isJoinTable()) return "id";
+        return table.getPrimaryKeyColumns().isEmpty() ? "id" : table.getPrimaryKeyColumns().get(0);
+    }
+
+    private void putVersionInfo(Map<String, Object> data, TableMetadata table) {
+        if (table.getVersionField() == null) return;
+        table.getColumns().stream()
+                .filter(c -> table.getVersionField().equals(c.getFieldName()))
+                .findFirst()
+                .ifPresent(c -> data.put("versionType", c.getJavaType().getSimpleName()));
+    }
+
     private List<GeneratedFile> generateAllFiles(List<TableMetadata> tables, String packageName, String projectName) throws Exception {
         List<GeneratedFile> files = new ArrayList<>();
 
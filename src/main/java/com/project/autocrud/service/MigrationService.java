@@ -0,0 +1,162 @@
+package com.project.autocrud.service;
+
+import com.project.autocrud.model.ColumnMetadata;
+import com.project.autocrud.model.IndexMetadata;
+import com.project.autocrud.model.TableMetadata;
+import com.project.autocrud.util.NameUtils;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Builds ordered Flyway migrations (PostgreSQL dialect) for the generated project.
+ * Tables come first, then foreign keys, then indexes, so statement order inside a file never matters.
+ * Views follow in a last migration, in declaration order, since they may select from each other.
+ */
+@Service
+public class MigrationService {
+
+    private static final String MIGRATION_DIR = "src/main/resources/db/migration/";
+    private static final Pattern NEXTVAL = Pattern.compile("nextval\\('([^':]+)");
+
+    public List<GeneratedFile> generateMigrations(List<TableMetadata> tables) {
+        List<GeneratedFile> files = new ArrayList<>();
+        files.add(new GeneratedFile(MIGRATION_DIR + "V1__create_tables.sql", createTables(tables)));
+        files.add(new GeneratedFile(MIGRATION_DIR + "V2__add_foreign_keys.sql", addForeignKeys(tables)));
+        files.add(new GeneratedFile(MIGRATION_DIR + "V3__create_indexes.sql", createIndexes(tables)));
+        if (tables.stream().anyMatch(TableMetadata::isView)) {
+            files.add(new GeneratedFile(MIGRATION_DIR + "V4__create_views.sql", createViews(tables)));
+        }
+        return files;
+    }
+
+    /**
+     * CREATE TABLE script for the load-test H2 database, which gets its schema from the entities:
+     * jdbc-mode tables have none, so they are created by this script after Hibernate (no FKs, no indexes).
+     * Dropped first like create-drop would, the in-memory database outlives a test context.
+     */
+    public GeneratedFile generateLoadTestSchema(List<TableMetadata> tables) {
+        List<TableMetadata> jdbcTables = tables.stream().filter(TableMetadata::isJdbcMode).toList();
+        StringBuilder sql = new StringBuilder();
+        jdbcTables.forEach(t -> sql.append("DROP TABLE IF EXISTS ").append(t.getTableName()).append(" CASCADE;\n"));
+        sql.append("\n").append(createTables(jdbcTables));
+        return new GeneratedFile("src/test/resources/loadtest-schema.sql", sql.toString());
+    }
+
+    private String createTables(List<TableMetadata> tables) {
+        StringBuilder sql = new StringBuilder();
+
+        // sequences referenced by nextval() defaults must exist before the tables
+        Set<String> sequences = new LinkedHashSet<>();
+        for (TableMetadata t : tables) {
+            if (t.isView()) continue;
+            for (ColumnMetadata c : t.getColumns()) {
+                if (c.getDefaultValue() == null) continue;
+                Matcher m = NEXTVAL.matcher(c.getDefaultValue());
+                if (m.find()) sequences.add(m.group(1));
+            }
+        }
+        sequences.forEach(seq -> sql.append("CREATE SEQUENCE IF NOT EXISTS ").append(seq).append(";\n"));
+        if (!sequences.isEmpty()) sql.append("\n");
+
+        for (TableMetadata t : tables) {
+            if (t.isView()) continue;
+            List<String> lines = new ArrayList<>();
+            for (ColumnMetadata c : t.getColumns()) {
+                StringBuilder line = new StringBuilder("    ").append(c.getName()).append(" ").append(columnType(c));
+                if (!c.isNullable()) line.append(" NOT NULL");
+                if (c.getDefaultValue() != null && !c.getDefaultValue().isBlank()) {
+                    line.append(" DEFAULT ").append(c.getDefaultValue());
+                }
+                lines.add(line.toString());
+            }
+            List<String> pkColumns = primaryKeyColumnNames(t);
+            if (!pkColumns.isEmpty()) {
+                lines.add("    CONSTRAINT " + identifier("pk_" + t.getTableName())
+                        + " PRIMARY KEY (" + String.join(", ", pkColumns) + ")");
+            }
+            sql.append("CREATE TABLE ").append(t.getTableName()).append(" (\n")
+                    .append(String.join(",\n", lines))
+                    .append("\n);\n\n");
+        }
+        return sql.toString();
+    }
+
+    private String addForeignKeys(List<TableMetadata> tables) {
+        StringBuilder sql = new StringBuilder();
+        for (TableMetadata t : tables) {
+            if (t.isView()) continue;
+            // driven by the FK columns, associations may be flattened to scalar keys (jdbc mode)
+            for (ColumnMetadata col : t.getColumns()) {
+                if (!col.isForeignKey() || col.getReferencedTable() == null) continue;
+                boolean inferred = t.getRelationships().stream()
+                        .anyMatch(r -> col.getName().equals(r.getFkColumn()) && r.isInferred());
+                if (inferred) sql.append("-- inferred from column name\n");
+                sql.append("ALTER TABLE ").append(t.getTableName())
+                        .append(" ADD CONSTRAINT ").append(identifier("fk_" + t.getTableName() + "_" + col.getName()))
+                        .append(" FOREIGN KEY (").append(col.getName()).append(")")
+                        .append(" REFERENCES ").append(col.getReferencedTable())
+                        .append(" (").append(col.getReferencedColumn()).append(");\n");
+            }
+        }
+        return sql.toString();
+    }
+
+    private String createIndexes(List<TableMetadata> tables) {
+        StringBuilder sql = new StringBuilder();
+        for (TableMetadata t : tables) {
+            if (!t.isView()) appendIndexes(sql, t);
+        }
+        return sql.toString();
+    }
+
+    private String createViews(List<TableMetadata> tables) {
+        StringBuilder sql = new StringBuilder();
+        for (TableMetadata t : tables) {
+            if (!t.isView()) continue;
+            sql.append("CREATE ").append(t.isMaterializedView() ? "MATERIALIZED " : "").append("VIEW ")
+                    .append(t.getTableName()).append(" AS\n")
+                    .append(t.getViewQuery()).append(";\n");
+            appendIndexes(sql, t);
+            sql.append("\n");
+        }
+        return sql.toString();
+    }
+
+    private void appendIndexes(StringBuilder sql, TableMetadata t) {
+        for (IndexMetadata index : t.getIndexes()) {
+            sql.append("CREATE ").append(index.isUnique() ? "UNIQUE " : "").append("INDEX ")
+                    .append(index.getName())
+                    .append(" ON ").append(t.getTableName())
+                    .append(index.getMethod() != null ? " USING " + index.getMethod() : "")
+                    .append(" (").append(String.join(", ", index.getColumns())).append(")")
+                    .append(index.getWhere() != null ? " WHERE " + index.getWhere() : "")
+                    .append(";\n");
+        }
+    }
+
+    private String columnType(ColumnMetadata c) {
+        if (c.getSqlTypeDefinition() != null) return c.getSqlTypeDefinition();
+        return c.getSqlType() != null ? c.getSqlType() : "TEXT";
+    }
+
+    private List<String> primaryKeyColumnNames(TableMetadata t) {
+        List<String> names = new ArrayList<>();
+        for (String pkField : t.getPrimaryKeyColumns()) {
+            t.getColumns().stream()
+                    .filter(c -> c.getFieldName().equals(pkField))
+                    .findFirst()
+                    .ifPresent(c -> names.add(c.getName()));
+        }
+        return names;
+    }
+
+    private String identifier(String name) {
+        return NameUtils.sqlIdentifier(name);
+    }
+}
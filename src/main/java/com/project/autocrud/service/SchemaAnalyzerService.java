@@ -1,5 +1,7 @@
 package com.project.autocrud.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.project.autocrud.config.OverrideConfig;
 import com.project.autocrud.model.*;
@@ -17,43 +19,135 @@ import java.util.stream.Collectors;
 public class SchemaAnalyzerService {
 
     private static final Pattern NEXTVAL = Pattern.compile("nextval\\('(.+?)'\\)");
+    private static final Pattern NOT_NULL = Pattern.compile("(?i)\\bNOT\\s+NULL\\b");
+    private static final Pattern DEFAULT_VALUE = Pattern.compile(
+            "(?i)\\bDEFAULT\\s+(.+?)(?=\\s+(?:NOT\\s+NULL|NULL|PRIMARY|UNIQUE|REFERENCES|CHECK|CONSTRAINT)\\b|$)");
+    private static final Pattern UNIQUE_SPEC = Pattern.compile("(?i)\\bUNIQUE\\b");
+    private static final Pattern VERSION_COLUMN = Pattern.compile("(?i)version|row_?version|lock_?version");
+    private static final Pattern LARGE_TYPE = Pattern.compile("(?i)(tiny|medium|long)?(text|blob)|bytea|clob");
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public List<TableMetadata> analyze(String sql, String overrideJson) throws Exception {
-        List<CreateTable> tables = SqlParser.parse(sql);
-        OverrideConfig overrides = parseOverrides(overrideJson);
+        return analyze(SqlParser.parse(sql), parseOverrides(overrideJson), null);
+    }
+
+    /**
+     * Analyzes already parsed statements. When {@code baseCache} is given, the per-table pass is memoized on the
+     * overrides of that table: tables whose overrides did not change are copied from the cache instead of being
+     * re-processed. The cross-table passes (relationships, join tables, indexes) always run on fresh copies.
+     */
+    public List<TableMetadata> analyze(List<CreateTable> tables, OverrideConfig overrides,
+                                       Map<String, TableMetadata> baseCache) throws Exception {
         List<TableMetadata> result = new ArrayList<>();
 
         // First pass: process all tables
         Map<String, TableMetadata> tableMap = new HashMap<>();
         for (CreateTable table : tables) {
-            TableMetadata tm = processTable(table, tables, overrides);
+            TableMetadata tm;
+            if (baseCache == null) {
+                tm = processTable(table, tables, overrides);
+            } else {
+                String key = baseCacheKey(table.getTable().getName(), overrides);
+                TableMetadata base = baseCache.get(key);
+                if (base == null) {
+                    base = processTable(table, tables, overrides);
+                    baseCache.put(key, copy(base));
+                }
+                tm = copy(base);
+            }
             result.add(tm);
             tableMap.put(tm.getTableName().toLowerCase(), tm);
         }
 
-        // Second pass: detect and enrich relationships
+        // Second pass: detect and enrich relationships; views neither hold nor receive foreign keys
+        Map<String, TableMetadata> fkTargets = new HashMap<>(tableMap);
+        fkTargets.values().removeIf(TableMetadata::isView);
         for (TableMetadata tm : result) {
-            detectForeignKeys(tm, tables, tableMap, overrides);
+            if (!tm.isView()) detectForeignKeys(tm, tables, fkTargets, overrides);
         }
 
+        // Tables in jdbc mode are not entities: associations from or to them stay scalar FK columns
+        result.forEach(tm -> flattenJdbcRelationships(tm, tableMap));
+
         // Third pass: mark join tables (composite PK where PK cols are all FKs)
         markJoinTables(result);
 
+        // Inverse side of every ManyToOne, so parents can reach their children without an override
+        addInverseCollections(result, tableMap, overrides);
+
+        // GET /api/{parent}/{id}/{children} for every ManyToOne onto a single-key parent
+        addChildResources(result, tableMap);
+
+        // Large columns stay unloaded until read, except where the mapping needs them
+        result.forEach(this::resolveLazyColumns);
+
+        // Fourth pass: plan indexes for FK and unique columns (used by entities and migrations)
+        result.forEach(this::planIndexes);
+
         return result;
     }
 
-    private OverrideConfig parseOverrides(String json) {
-        if (json == null || json.trim().isEmpty()) return new OverrideConfig();
+    /**
+     * Orders tables so that every FK target comes before the tables referencing it.
+     * Cycles are broken at the first back edge; self references are ignored.
+     */
+    public List<TableMetadata> dependencyOrder(List<TableMetadata> tables) {
+        Map<String, TableMetadata> byName = new HashMap<>();
+        tables.forEach(t -> byName.put(t.getTableName().toLowerCase(), t));
+        List<TableMetadata> ordered = new ArrayList<>();
+        Set<String> visiting = new HashSet<>();
+        Set<String> visited = new HashSet<>();
+        for (TableMetadata t : tables) {
+            visitDependencies(t, byName, visiting, visited, ordered);
+        }
+        return ordered;
+    }
+
+    private void visitDependencies(TableMetadata t, Map<String, TableMetadata> byName, Set<String> visiting,
+                                   Set<String> visited, List<TableMetadata> ordered) {
+        String key = t.getTableName().toLowerCase();
+        if (visited.contains(key) || !visiting.add(key)) return;
+        // FK columns rather than relationships, so scalar (jdbc mode) keys are ordered too
+        for (ColumnMetadata c : t.getColumns()) {
+            if (!c.isForeignKey() || c.getReferencedTable() == null) continue;
+            TableMetadata target = byName.get(c.getReferencedTable().toLowerCase());
+            if (target != null && target != t) visitDependencies(target, byName, visiting, visited, ordered);
+        }
+        visiting.remove(key);
+        visited.add(key);
+        ordered.add(t);
+    }
+
+    // everything processTable reads from the overrides: the table override and the column overrides of that table
+    private String baseCacheKey(String tableName, OverrideConfig overrides) throws Exception {
+        Object tableOverride = overrides.getTableOverrides() != null ? overrides.getTableOverrides().get(tableName) : null;
+        Object columnOverrides = overrides.getColumnOverrides() != null ? overrides.getColumnOverrides().get(tableName) : null;
+        return tableName + "|" + objectMapper.writeValueAsString(tableOverride) + "|" + objectMapper.writeValueAsString(columnOverrides);
+    }
+
+    private TableMetadata copy(TableMetadata table) throws Exception {
+        return objectMapper.readerFor(TableMetadata.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(objectMapper.writeValueAsBytes(table));
+    }
+
+    public OverrideConfig parseOverrides(String json) {
         try {
-            return objectMapper.readValue(json, OverrideConfig.class);
+            return readOverrides(json);
         } catch (Exception e) {
             System.err.println("Failed to parse overrides: " + e.getMessage());
             return new OverrideConfig();
         }
     }
 
+    /** Strict variant of {@link #parseOverrides(String)}: malformed JSON is thrown instead of ignored. */
+    public OverrideConfig readOverrides(String json) throws JsonProcessingException {
+        if (json == null || json.trim().isEmpty()) return new OverrideConfig();
+        return objectMapper.readValue(json, OverrideConfig.class);
+    }
+
     private TableMetadata processTable(CreateTable table, List<CreateTable> allTables, OverrideConfig overrides) {
+        if (table instanceof SqlParser.ViewDefinition view) return processView(view, overrides);
         String tableName = table.getTable().getName();
         TableMetadata tm = new TableMetadata();
         tm.setTableName(tableName);
@@ -83,12 +177,96 @@ public class SchemaAnalyzerService {
         // Ensure PK columns have concrete Java types (avoid Object)
         adjustPrimaryKeyTypes(tm, cols);
         detectAuditFields(cols);
-        detectUniqueIndexes(table, cols);
+        detectSoftDelete(tm, cols, tableOverride);
+        detectVersionColumn(tm, cols, overrides);
+        detectUniqueIndexes(table, cols, tableOverride);
+        detectUpsertKey(tm, cols, tableOverride);
+        detectJdbcMode(tm, cols, tableOverride);
         tm.setColumns(cols);
         tm.setRelationships(new ArrayList<>()); // Initialize
         return tm;
     }
 
+    /**
+     * Views map to read-only entities, so none of the write-side detection (soft delete, version, upsert, jdbc mode)
+     * applies. Hibernate still needs an identifier: the primaryKey override, else an "id" column, else the first column.
+     */
+    private TableMetadata processView(SqlParser.ViewDefinition view, OverrideConfig overrides) {
+        String viewName = view.getTable().getName();
+        TableMetadata tm = new TableMetadata();
+        tm.setTableName(viewName);
+        tm.setClassName(NameUtils.toPascalCase(viewName));
+        tm.setEndpointPath(NameUtils.toKebabCase(viewName));
+        tm.setView(true);
+        tm.setMaterializedView(view.isMaterialized());
+        tm.setViewQuery(view.getQuery());
+
+        OverrideConfig.TableOverride tableOverride = overrides.getTableOverrides() != null
+                ? overrides.getTableOverrides().get(viewName) : null;
+        if (tableOverride != null) {
+            if (tableOverride.getEndpointPath() != null) tm.setEndpointPath(tableOverride.getEndpointPath());
+            if (tableOverride.getClassName() != null) tm.setClassName(tableOverride.getClassName());
+        }
+
+        List<ColumnMetadata> cols = new ArrayList<>();
+        for (ColumnDefinition colDef : view.getColumnDefinitions()) {
+            cols.add(processColumn(colDef, viewName, overrides));
+        }
+        // columns the select list does not reveal (e.g. SELECT * from a table outside this schema) come from the overrides
+        Map<String, OverrideConfig.ColumnOverride> colOverrides = overrides.getColumnOverrides() != null
+                ? overrides.getColumnOverrides().get(viewName) : null;
+        if (colOverrides != null) {
+            colOverrides.forEach((name, co) -> {
+                if (co.getJavaType() == null || cols.stream().anyMatch(c -> c.getName().equalsIgnoreCase(name))) return;
+                ColDataType unknown = new ColDataType();
+                unknown.setDataType("UNKNOWN");
+                cols.add(processColumn(new ColumnDefinition(name, unknown, null), viewName, overrides));
+            });
+        }
+        for (ColumnMetadata c : cols) {
+            // specs copied from the source table (SELECT *) describe that table, not the view
+            c.setAutoIncrement(false);
+            c.setDefaultValue(null);
+            c.setUnique(false);
+            if (Object.class.equals(c.getJavaType())) {
+                c.setJavaType(String.class);
+                tm.getWarnings().add("VIEW_COLUMN_TYPE: type of " + viewName + "." + c.getName()
+                        + " could not be inferred, mapped as String; set columnOverrides." + viewName + "." + c.getName() + ".javaType");
+            }
+        }
+        if (cols.isEmpty()) {
+            tm.getWarnings().add("VIEW_COLUMNS: no columns inferred for " + viewName
+                    + ", declare them in columnOverrides." + viewName + " with a javaType");
+        }
+
+        List<ColumnMetadata> key = new ArrayList<>();
+        if (tableOverride != null && tableOverride.getPrimaryKey() != null) {
+            for (String name : tableOverride.getPrimaryKey()) {
+                cols.stream()
+                        .filter(c -> c.getName().equalsIgnoreCase(name) || c.getFieldName().equals(name))
+                        .findFirst()
+                        .ifPresent(key::add);
+            }
+        }
+        if (key.isEmpty()) {
+            cols.stream().filter(c -> "id".equalsIgnoreCase(c.getName())).findFirst().ifPresent(key::add);
+        }
+        if (key.isEmpty() && !cols.isEmpty()) {
+            key.add(cols.get(0));
+            tm.getWarnings().add("VIEW_KEY: " + viewName + " has no id column, using " + cols.get(0).getName()
+                    + " as identifier; set tableOverrides." + viewName + ".primaryKey if it is not unique");
+        }
+        key.forEach(c -> {
+            c.setPrimaryKey(true);
+            tm.getPrimaryKeyColumns().add(c.getFieldName());
+        });
+        tm.setCompositePrimaryKey(key.size() > 1);
+        adjustPrimaryKeyTypes(tm, cols);
+        tm.setColumns(cols);
+        tm.setRelationships(new ArrayList<>());
+        return tm;
+    }
+
     private ColumnMetadata processColumn(ColumnDefinition colDef, String tableName, OverrideConfig overrides) {
         ColumnMetadata cm = new ColumnMetadata();
         cm.setName(colDef.getColumnName());
@@ -96,12 +274,13 @@ public class SchemaAnalyzerService {
 
         String type = colDef.getColDataType().getDataType();
         cm.setSqlType(type);
+        cm.setSqlTypeDefinition(colDef.getColDataType().toString());
         boolean isAutoInc = isAutoIncrement(colDef, type);
         cm.setAutoIncrement(isAutoInc);
         Class<?> mapped = TypeMapper.map(type, isAutoInc);
-        // If JSON mapped to JsonNode, we'll treat it as String in generated entities
+        // JSON/JSONB stay JsonNode, mapped with Hibernate's JSON JDBC type instead of String
         if (mapped != null && mapped.getSimpleName().equals("JsonNode")) {
-            cm.setJavaType(String.class);
+            cm.setJavaType(mapped);
             cm.setJson(true);
         } else if (mapped != null && !mapped.equals(Object.class)) {
             cm.setJavaType(mapped);
@@ -120,26 +299,35 @@ public class SchemaAnalyzerService {
         }
 
         List<String> specs = colDef.getColumnSpecs();
-        cm.setNullable(specs == null || !specs.contains("NOT NULL"));
+        // JSqlParser may hand back "NOT NULL" as one spec or as two tokens, so match on the joined text
+        cm.setNullable(specs == null || !NOT_NULL.matcher(String.join(" ", specs)).find());
         cm.setNotNull(!cm.isNullable());
-
-        String def = specs != null ? specs.stream()
-                .filter(s -> s.toUpperCase().startsWith("DEFAULT"))
-                .map(s -> s.substring(7).trim())
-                .findFirst().orElse(null) : null;
-        cm.setDefaultValue(def);
+        cm.setDefaultValue(extractDefault(specs));
+        if (specs != null && UNIQUE_SPEC.matcher(String.join(" ", specs)).find()) cm.setUnique(true);
+        cm.setLazy(LARGE_TYPE.matcher(type).matches());
 
         // Column override
         Map<String, OverrideConfig.ColumnOverride> colOverrides = overrides.getColumnOverrides() != null
                 ? overrides.getColumnOverrides().get(tableName) : null;
         if (colOverrides != null && colOverrides.containsKey(colDef.getColumnName())) {
             OverrideConfig.ColumnOverride co = colOverrides.get(colDef.getColumnName());
-            if (co.getJavaType() != null) cm.setJavaType(resolveType(co.getJavaType()));
+            if (co.getJavaType() != null && cm.isJson() && co.getJavaType().contains(".")) {
+                cm.setJsonType(co.getJavaType()); // a record of the target project, bound through the JSON format mapper
+            } else if (co.getJavaType() != null) {
+                cm.setJavaType(resolveType(co.getJavaType()));
+            }
             if (co.getNullable() != null) {
                 cm.setNullable(co.getNullable());
                 cm.setNotNull(!co.getNullable());
             }
             if (co.getUnique() != null) cm.setUnique(co.getUnique());
+            if (Boolean.TRUE.equals(co.getUniqueAmongLive())) {
+                cm.setUnique(true);
+                cm.setUniqueAmongLive(true);
+            }
+            if (co.getIndexed() != null) cm.setIndexed(co.getIndexed());
+            if (Boolean.TRUE.equals(co.getGinIndex())) cm.setGinIndex(true);
+            if (co.getLazy() != null) cm.setLazy(co.getLazy());
         }
 
         return cm;
@@ -163,14 +351,14 @@ public class SchemaAnalyzerService {
         List<String> specs = col.getColumnSpecs();
         if (specs != null && specs.contains("IDENTITY")) return true;
         if (type.toUpperCase().contains("SERIAL")) return true;
-        if (specs != null) {
-            String def = specs.stream()
-                    .filter(s -> s.toUpperCase().startsWith("DEFAULT"))
-                    .map(s -> s.substring(7).trim())
-                    .findFirst().orElse("");
-            return NEXTVAL.matcher(def).find();
-        }
-        return false;
+        String def = extractDefault(specs);
+        return def != null && NEXTVAL.matcher(def).find();
+    }
+
+    private String extractDefault(List<String> specs) {
+        if (specs == null) return null;
+        var m = DEFAULT_VALUE.matcher(String.join(" ", specs));
+        return m.find() ? m.group(1).trim() : null;
     }
 
     private void detectPrimaryKey(TableMetadata tm, List<ColumnMetadata> cols, CreateTable table) {
@@ -270,6 +458,11 @@ public class SchemaAnalyzerService {
                 rel.setInferred(false);
                 tm.getRelationships().add(rel);
                 col.setForeignKey(true);
+                col.setReferencedTable(target.getTableName());
+                List<String> refCols = fk.getReferencedColumnNames();
+                int pos = fk.getColumnsNames().indexOf(colName);
+                col.setReferencedColumn(refCols != null && pos < refCols.size() ? refCols.get(pos) : primaryKeyColumnName(target));
+                col.setReferencesPrimaryKey(referencesPrimaryKey(target, col.getReferencedColumn()));
 
                 continue;
             }
@@ -288,6 +481,9 @@ public class SchemaAnalyzerService {
                         rel.setInferred(true);
                         tm.getRelationships().add(rel);
                         col.setForeignKey(true);
+                        col.setReferencedTable(target.getTableName());
+                        col.setReferencedColumn(primaryKeyColumnName(target));
+                        col.setReferencesPrimaryKey(referencesPrimaryKey(target, col.getReferencedColumn()));
                     }
                 }
             }
@@ -303,6 +499,27 @@ public class SchemaAnalyzerService {
         });
     }
 
+    private void detectJdbcMode(TableMetadata tm, List<ColumnMetadata> cols, OverrideConfig.TableOverride tableOverride) {
+        if (tableOverride == null || !"jdbc".equalsIgnoreCase(tableOverride.getMode())) return;
+        if (tm.isCompositePrimaryKey() || cols.stream().noneMatch(ColumnMetadata::isPrimaryKey)) {
+            tm.getWarnings().add("JDBC_MODE: " + tm.getTableName() + " needs a single-column primary key, mapped with JPA instead");
+            return;
+        }
+        tm.setJdbcMode(true);
+    }
+
+    private void flattenJdbcRelationships(TableMetadata tm, Map<String, TableMetadata> tableMap) {
+        tm.getRelationships().removeIf(rel -> {
+            TableMetadata target = tableMap.get(rel.getTargetTable().toLowerCase());
+            if (!tm.isJdbcMode() && (target == null || !target.isJdbcMode())) return false;
+            if (!tm.isJdbcMode()) {
+                tm.getWarnings().add("JDBC_TARGET: " + rel.getFkColumn() + " kept as scalar "
+                        + NameUtils.toCamelCase(rel.getFkColumn()) + ", " + rel.getTargetTable() + " is mapped with JdbcClient");
+            }
+            return true;
+        });
+    }
+
     private void markJoinTables(List<TableMetadata> tables) {
         // Detect pure join tables (only PK columns exist and they are exactly two FKs) and create ManyToMany on targets
         for (TableMetadata t : tables) {
@@ -364,6 +581,217 @@ public class SchemaAnalyzerService {
         }
     }
 
+    private void addInverseCollections(List<TableMetadata> tables, Map<String, TableMetadata> tableMap, OverrideConfig overrides) {
+        for (TableMetadata source : tables) {
+            if (source.isJoinTablePure()) continue; // already mapped as ManyToMany on both targets
+            for (Relationship rel : List.copyOf(source.getRelationships())) {
+                if (rel.getFkColumn() == null || !"ManyToOne".equalsIgnoreCase(rel.getRelationshipType())) continue;
+                TableMetadata target = tableMap.get(rel.getTargetTable().toLowerCase());
+                if (target == null) continue;
+
+                OverrideConfig.ColumnOverride colOverride = getColumnOverride(overrides, source.getTableName(), rel.getFkColumn());
+                String fieldName = colOverride != null ? colOverride.getInverseFieldName() : null;
+                if ("".equals(fieldName)) continue;
+                if (fieldName == null) {
+                    String camel = NameUtils.toCamelCase(source.getTableName());
+                    fieldName = camel.endsWith("s") ? camel : NameUtils.pluralize(camel);
+                    if (isFieldTaken(target, fieldName)) {
+                        // several FKs to the same parent, or a self reference: messagesBySenderId
+                        fieldName += "By" + NameUtils.toPascalCase(rel.getFkColumn());
+                    }
+                }
+                if (isFieldTaken(target, fieldName)) {
+                    target.getWarnings().add("INVERSE_COLLECTION: " + fieldName + " for " + source.getTableName() + "."
+                            + rel.getFkColumn() + " clashes with an existing field, set columnOverrides." + source.getTableName()
+                            + "." + rel.getFkColumn() + ".inverseFieldName");
+                    continue;
+                }
+
+                Relationship inverse = new Relationship();
+                inverse.setRelationshipType("OneToMany");
+                inverse.setTargetTable(source.getTableName());
+                inverse.setTargetClass(source.getClassName());
+                inverse.setFieldName(fieldName);
+                inverse.setMappedBy(rel.getFieldName());
+                inverse.setInferred(rel.isInferred());
+                inverse.setNullable(true);
+                boolean subselect = colOverride != null && "subselect".equalsIgnoreCase(colOverride.getInverseFetch());
+                inverse.setFetchMode(subselect ? "subselect" : "batch");
+                target.getRelationships().add(inverse);
+            }
+        }
+    }
+
+    private void addChildResources(List<TableMetadata> tables, Map<String, TableMetadata> tableMap) {
+        for (TableMetadata child : tables) {
+            if (child.isJoinTablePure() || child.isJdbcMode() || !hasSingleKey(child)) continue;
+            ColumnMetadata childPk = primaryKeyColumn(child);
+            for (Relationship rel : child.getRelationships()) {
+                if (rel.getFkColumn() == null || !"ManyToOne".equalsIgnoreCase(rel.getRelationshipType())) continue;
+                TableMetadata parent = tableMap.get(rel.getTargetTable().toLowerCase());
+                if (parent == null || parent.isJoinTablePure() || parent.isJdbcMode() || !hasSingleKey(parent)) continue;
+                String referenced = child.getColumns().stream()
+                        .filter(c -> c.getName().equals(rel.getFkColumn()))
+                        .map(ColumnMetadata::getReferencedColumn)
+                        .filter(Objects::nonNull)
+                        .findFirst().orElse(primaryKeyColumnName(parent));
+                if (!referencesPrimaryKey(parent, referenced)) continue; // keyset finder traverses to the parent id
+
+                String path = child.getEndpointPath();
+                String candidate = path;
+                if (parent.getChildResources().stream().anyMatch(r -> r.getPath().equals(candidate))) {
+                    path += "-by-" + NameUtils.toKebabCase(rel.getFkColumn());
+                }
+                ColumnMetadata parentPk = primaryKeyColumn(parent);
+                ChildResource resource = new ChildResource();
+                resource.setPath(path);
+                resource.setChildTable(child.getTableName());
+                resource.setChildClass(child.getClassName());
+                resource.setFkColumn(rel.getFkColumn());
+                resource.setRelationshipField(rel.getFieldName());
+                resource.setParentPkField(parentPk.getFieldName());
+                resource.setParentPkType(typeName(parentPk.getJavaType()));
+                resource.setChildPkField(childPk.getFieldName());
+                resource.setChildPkType(typeName(childPk.getJavaType()));
+                parent.getChildResources().add(resource);
+                child.getChildFinders().add(resource);
+            }
+        }
+    }
+
+    private boolean hasSingleKey(TableMetadata table) {
+        return !table.isCompositePrimaryKey() && table.getPrimaryKeyColumns().size() == 1 && primaryKeyColumn(table) != null;
+    }
+
+    private ColumnMetadata primaryKeyColumn(TableMetadata table) {
+        return table.getColumns().stream()
+                .filter(c -> c.getFieldName().equals(table.getPrimaryKeyColumns().get(0)))
+                .findFirst().orElse(null);
+    }
+
+    private String typeName(Class<?> type) {
+        if (type == null) return "Long";
+        return "java.lang".equals(type.getPackageName()) ? type.getSimpleName() : type.getName();
+    }
+
+    private boolean isFieldTaken(TableMetadata table, String fieldName) {
+        return table.getColumns().stream().anyMatch(c -> fieldName.equals(c.getFieldName()))
+                || table.getRelationships().stream().anyMatch(r -> fieldName.equals(r.getFieldName()));
+    }
+
+    private String primaryKeyColumnName(TableMetadata target) {
+        String pkField = target.getPrimaryKeyColumns().isEmpty() ? null : target.getPrimaryKeyColumns().get(0);
+        return target.getColumns().stream()
+                .filter(c -> c.getFieldName().equals(pkField))
+                .map(ColumnMetadata::getName)
+                .findFirst().orElse("id");
+    }
+
+    private boolean referencesPrimaryKey(TableMetadata target, String column) {
+        return !target.isCompositePrimaryKey() && target.getPrimaryKeyColumns().size() == 1
+                && primaryKeyColumnName(target).equalsIgnoreCase(column);
+    }
+
+    // only plain String/byte[] attributes of JPA tables: keys, FKs, version and audit columns are always loaded
+    private void resolveLazyColumns(TableMetadata tm) {
+        for (ColumnMetadata c : tm.getColumns()) {
+            if (!c.isLazy()) continue;
+            boolean plain = !c.isPrimaryKey() && !c.isForeignKey() && !c.isVersion() && !c.isJson()
+                    && !c.isCreatedAt() && !c.isUpdatedAt() && !c.isDeletedAt()
+                    && (String.class.equals(c.getJavaType()) || byte[].class.equals(c.getJavaType()));
+            if (!plain || tm.isView() || tm.isJdbcMode()) c.setLazy(false);
+        }
+    }
+
+    private void planIndexes(TableMetadata tm) {
+        if (tm.isView()) {
+            // a materialized view can only be refreshed CONCURRENTLY with a unique index on plain columns
+            if (tm.isMaterializedView() && !tm.getPrimaryKeyColumns().isEmpty()) {
+                List<String> key = primaryKeyColumnNames(tm);
+                IndexMetadata unique = newIndex("ux_", tm.getTableName(), key.get(0), true);
+                unique.getColumns().clear();
+                unique.getColumns().addAll(key);
+                tm.getIndexes().add(unique);
+            }
+            return;
+        }
+        // the leading PK column is already covered by the primary key index
+        String leadingPk = tm.getColumns().stream()
+                .filter(c -> !tm.getPrimaryKeyColumns().isEmpty() && c.getFieldName().equals(tm.getPrimaryKeyColumns().get(0)))
+                .map(ColumnMetadata::getName)
+                .findFirst().orElse(null);
+        // soft-deleted tables: every read filters on deleted_at IS NULL, so the lookup indexes only hold live rows
+        String live = tm.isHasSoftDelete() && tm.getSoftDeleteColumn() != null ? tm.getSoftDeleteColumn() + " IS NULL" : null;
+        if (live != null && leadingPk != null) {
+            IndexMetadata pkIndex = newIndex("live_", tm.getTableName(), leadingPk, false);
+            pkIndex.getColumns().clear();
+            pkIndex.getColumns().addAll(primaryKeyColumnNames(tm));
+            pkIndex.setWhere(live);
+            tm.getIndexes().add(pkIndex);
+        }
+
+        for (ColumnMetadata c : tm.getColumns()) {
+            if (c.isGinIndex()) {
+                if ("JSONB".equalsIgnoreCase(c.getSqlType())) {
+                    IndexMetadata gin = newIndex("gin_", tm.getTableName(), c.getName(), false);
+                    gin.setMethod("gin");
+                    tm.getIndexes().add(gin);
+                } else {
+                    tm.getWarnings().add("GIN_INDEX: " + c.getName() + " is " + c.getSqlType() + ", GIN indexes need jsonb; no index created");
+                }
+            }
+            if (c.getName().equals(leadingPk)) {
+                c.setIndexed(true);
+                continue;
+            }
+            IndexMetadata index = null;
+            if (c.isUnique()) {
+                // the declared constraint holds for every row; only uniqueAmongLive lets a deleted row keep a live value
+                IndexMetadata unique = newIndex("ux_", tm.getTableName(), c.getName(), true);
+                if (c.isUniqueAmongLive()) {
+                    if (live != null) {
+                        unique.setWhere(live);
+                    } else {
+                        tm.getWarnings().add("UNIQUE_AMONG_LIVE: " + c.getName() + " is on a table without soft delete, the unique index covers all rows");
+                    }
+                }
+                tm.getIndexes().add(unique);
+                c.setIndexed(true);
+            } else if (c.isForeignKey() || c.isIndexed()) {
+                // FK columns, plus columns marked "indexed" in the column overrides
+                index = newIndex("idx_", tm.getTableName(), c.getName(), false);
+                // (fk, pk): a keyset page of one parent's children is a single ordered range scan
+                if (leadingPk != null && tm.getChildFinders().stream().anyMatch(r -> c.getName().equals(r.getFkColumn()))) {
+                    index.getColumns().add(leadingPk);
+                }
+            }
+            if (index != null) {
+                index.setWhere(live);
+                tm.getIndexes().add(index);
+                c.setIndexed(true);
+            }
+        }
+    }
+
+    private List<String> primaryKeyColumnNames(TableMetadata tm) {
+        List<String> names = new ArrayList<>();
+        for (String pkField : tm.getPrimaryKeyColumns()) {
+            tm.getColumns().stream()
+                    .filter(c -> c.getFieldName().equals(pkField))
+                    .findFirst()
+                    .ifPresent(c -> names.add(c.getName()));
+        }
+        return names;
+    }
+
+    private IndexMetadata newIndex(String prefix, String tableName, String column, boolean unique) {
+        IndexMetadata index = new IndexMetadata();
+        index.setName(NameUtils.sqlIdentifier(prefix + tableName + "_" + column));
+        index.getColumns().add(column);
+        index.setUnique(unique);
+        return index;
+    }
+
     private List<ForeignKeyIndex> extractExplicitForeignKeys(String tableName, List<CreateTable> allTables) {
         return allTables.stream()
                 .filter(t -> t.getTable().getName().equalsIgnoreCase(tableName))
@@ -437,7 +865,44 @@ public class SchemaAnalyzerService {
         });
     }
 
-    private void detectUniqueIndexes(CreateTable table, List<ColumnMetadata> cols) {
+    private void detectSoftDelete(TableMetadata tm, List<ColumnMetadata> cols, OverrideConfig.TableOverride tableOverride) {
+        Optional<ColumnMetadata> deletedAt = cols.stream().filter(ColumnMetadata::isDeletedAt).findFirst();
+        boolean disabled = tableOverride != null && Boolean.FALSE.equals(tableOverride.getSoftDelete());
+        if (deletedAt.isPresent() && !disabled) {
+            tm.setHasSoftDelete(true);
+            tm.setSoftDeleteField(deletedAt.get().getFieldName());
+            tm.setSoftDeleteColumn(deletedAt.get().getName());
+        } else if (tm.isHasSoftDelete()) {
+            tm.getWarnings().add("SOFT_DELETE_COLUMN: softDelete requested but " + tm.getTableName()
+                    + " has no deleted_at column, using hard delete");
+            tm.setHasSoftDelete(false);
+        }
+    }
+
+    private void detectVersionColumn(TableMetadata tm, List<ColumnMetadata> cols, OverrideConfig overrides) {
+        for (ColumnMetadata c : cols) {
+            OverrideConfig.ColumnOverride co = getColumnOverride(overrides, tm.getTableName(), c.getName());
+            boolean candidate = co != null && co.getVersion() != null
+                    ? co.getVersion()
+                    : VERSION_COLUMN.matcher(c.getName()).matches();
+            if (!candidate || c.isPrimaryKey()) continue;
+
+            // ETags are built from the version value, so only integral counters are supported
+            Class<?> jt = c.getJavaType();
+            if (!Long.class.equals(jt) && !Integer.class.equals(jt) && !Short.class.equals(jt)) {
+                tm.getWarnings().add("VERSION_TYPE: " + c.getName() + " is not an integer column, @Version not applied");
+                continue;
+            }
+            if (tm.getVersionField() != null) {
+                tm.getWarnings().add("MULTIPLE_VERSION: " + c.getName() + " ignored, already using " + tm.getVersionField());
+                continue;
+            }
+            c.setVersion(true);
+            tm.setVersionField(c.getFieldName());
+        }
+    }
+
+    private void detectUniqueIndexes(CreateTable table, List<ColumnMetadata> cols, OverrideConfig.TableOverride tableOverride) {
         List<Index> indexes = table.getIndexes();
         if (indexes != null) {
             for (Index index : indexes) {
@@ -448,6 +913,38 @@ public class SchemaAnalyzerService {
                 }
             }
         }
+        if (tableOverride != null && tableOverride.getUniqueColumns() != null) {
+            cols.stream().filter(c -> tableOverride.getUniqueColumns().contains(c.getName()))
+                    .forEach(c -> c.setUnique(true));
+        }
+    }
+
+    /**
+     * Conflict target for generated upserts: the override if it names the PK or a unique column,
+     * else a PK the client supplies (not auto-generated), else the first unique column.
+     */
+    private void detectUpsertKey(TableMetadata tm, List<ColumnMetadata> cols, OverrideConfig.TableOverride tableOverride) {
+        List<String> pkColumns = cols.stream().filter(ColumnMetadata::isPrimaryKey).map(ColumnMetadata::getName).toList();
+        if (tableOverride != null && tableOverride.getUpsertKey() != null && !tableOverride.getUpsertKey().isEmpty()) {
+            List<String> requested = tableOverride.getUpsertKey();
+            boolean isPk = new HashSet<>(requested).equals(new HashSet<>(pkColumns));
+            boolean isUnique = requested.size() == 1 && cols.stream()
+                    .anyMatch(c -> c.getName().equals(requested.get(0)) && c.isUnique());
+            if (isPk || isUnique) {
+                tm.setUpsertKey(new ArrayList<>(requested));
+                return;
+            }
+            tm.getWarnings().add("UPSERT_KEY: " + requested + " is neither the primary key nor a unique column of "
+                    + tm.getTableName() + ", using the detected key");
+        }
+        boolean generatedPk = cols.stream().anyMatch(c -> c.isPrimaryKey() && c.isAutoIncrement());
+        if (!pkColumns.isEmpty() && !generatedPk) {
+            tm.setUpsertKey(new ArrayList<>(pkColumns));
+            return;
+        }
+        cols.stream().filter(c -> c.isUnique() && !c.isPrimaryKey())
+                .findFirst()
+                .ifPresent(c -> tm.setUpsertKey(new ArrayList<>(List.of(c.getName()))));
     }
 }
 
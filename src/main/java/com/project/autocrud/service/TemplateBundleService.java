@@ -0,0 +1,191 @@
+package com.project.autocrud.service;
+
+import freemarker.cache.ClassTemplateLoader;
+import freemarker.cache.MultiTemplateLoader;
+import freemarker.cache.StringTemplateLoader;
+import freemarker.cache.TemplateLoader;
+import freemarker.core.TemplateClassResolver;
+import freemarker.template.Configuration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Uploaded template bundles: ZIP files replacing some of the built-in templates, e.g. entity.java.ftl.
+ * A bundle is validated and compiled once, then kept in a bounded LRU map under the SHA-256 of its content;
+ * generation requests reference it by that hash. Templates not in the bundle fall back to the built-in ones.
+ * <p>
+ * Uploaded templates run on the server, so uploads are off unless {@code autocrud.templates.enabled} is set,
+ * which is meant for deployments where everyone who can reach the API is trusted. Their output is still bounded
+ * per file and per request (see {@link CodeGeneratorService#withTemplates}).
+ */
+@Service
+public class TemplateBundleService {
+
+    private static final int MAX_TEMPLATE_BYTES = 512 * 1024;
+
+    private final boolean enabled;
+    private final int maxBundles;
+    private final long maxOutputBytes;
+    private final Duration renderBudget;
+    private final Map<String, TemplateBundle> bundles;
+
+    public TemplateBundleService(@Value("${autocrud.templates.enabled:false}") boolean enabled,
+                                 @Value("${autocrud.templates.max-bundles:16}") int maxBundles,
+                                 @Value("${autocrud.templates.max-output:4MB}") DataSize maxOutput,
+                                 @Value("${autocrud.templates.render-budget:10s}") Duration renderBudget) {
+        this.enabled = enabled;
+        this.maxBundles = maxBundles;
+        this.maxOutputBytes = maxOutput.toBytes();
+        this.renderBudget = renderBudget;
+        this.bundles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TemplateBundle> eldest) {
+                return size() > TemplateBundleService.this.maxBundles;
+            }
+        };
+    }
+
+    /** Compiled templates of one bundle, the configuration renders them in place of the built-in ones. */
+    public static final class TemplateBundle {
+        private final String hash;
+        private final List<String> templateNames;
+        private final Configuration configuration;
+
+        private TemplateBundle(String hash, List<String> templateNames, Configuration configuration) {
+            this.hash = hash;
+            this.templateNames = templateNames;
+            this.configuration = configuration;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public List<String> getTemplateNames() {
+            return templateNames;
+        }
+
+        public Configuration getConfiguration() {
+            return configuration;
+        }
+    }
+
+    /** Registers a bundle, or returns the cached one when the same content was uploaded before. */
+    public TemplateBundle register(byte[] zip) {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "Template uploads are disabled, set autocrud.templates.enabled=true on a trusted deployment");
+        }
+        Map<String, String> sources = readBundle(zip);
+        String hash = contentHash(sources);
+        synchronized (bundles) {
+            TemplateBundle cached = bundles.get(hash);
+            if (cached != null) return cached;
+        }
+        TemplateBundle bundle = compile(hash, sources);
+        synchronized (bundles) {
+            bundles.putIfAbsent(hash, bundle);
+            return bundles.get(hash);
+        }
+    }
+
+    public TemplateBundle get(String hash) {
+        synchronized (bundles) {
+            TemplateBundle bundle = bundles.get(hash);
+            if (bundle == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Template bundle " + hash + " is unknown or was evicted, upload it again");
+            }
+            return bundle;
+        }
+    }
+
+    /** Generator rendering with the bundle, within the output and time limits of one generation request. */
+    public CodeGeneratorService generatorFor(CodeGeneratorService generator, String hash) {
+        return generator.withTemplates(get(hash).getConfiguration(), maxOutputBytes, renderBudget);
+    }
+
+    public void delete(String hash) {
+        synchronized (bundles) {
+            bundles.remove(hash);
+        }
+    }
+
+    // template name -> source, sorted so the hash does not depend on the entry order of the ZIP
+    private Map<String, String> readBundle(byte[] zip) {
+        Map<String, String> sources = new TreeMap<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (entry.isDirectory()) continue;
+                String name = entry.getName().replace('\\', '/').replaceFirst("^/?(templates/)?", "");
+                if (!name.endsWith(".ftl") || name.contains("..")
+                        || CodeGeneratorService.class.getResource("/templates/" + name) == null) {
+                    throw badRequest(entry.getName() + " does not replace a built-in template (e.g. entity.java.ftl, jdbc/row.java.ftl)");
+                }
+                byte[] source = in.readNBytes(MAX_TEMPLATE_BYTES + 1);
+                if (source.length > MAX_TEMPLATE_BYTES) {
+                    throw badRequest(name + " is larger than " + MAX_TEMPLATE_BYTES / 1024 + " KB");
+                }
+                sources.put(name, new String(source, StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            throw badRequest("Template bundle is not a valid ZIP file: " + e.getMessage());
+        }
+        if (sources.isEmpty()) throw badRequest("Template bundle contains no .ftl templates");
+        return sources;
+    }
+
+    private TemplateBundle compile(String hash, Map<String, String> sources) {
+        StringTemplateLoader uploaded = new StringTemplateLoader();
+        sources.forEach(uploaded::putTemplate);
+        Configuration configuration = CodeGeneratorService.templateConfiguration(new MultiTemplateLoader(new TemplateLoader[]{
+                uploaded, new ClassTemplateLoader(CodeGeneratorService.class, "/templates")}));
+        // uploaded templates must not instantiate arbitrary classes
+        configuration.setNewBuiltinClassResolver(TemplateClassResolver.ALLOWS_NOTHING_RESOLVER);
+        for (String name : sources.keySet()) {
+            try {
+                configuration.getTemplate(name);
+            } catch (IOException e) {
+                throw badRequest(name + ": " + e.getMessage());
+            }
+        }
+        return new TemplateBundle(hash, List.copyOf(sources.keySet()), configuration);
+    }
+
+    private String contentHash(Map<String, String> sources) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            sources.forEach((name, source) -> {
+                sha256.update(name.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+                sha256.update(source.getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) 0);
+            });
+            return HexFormat.of().formatHex(sha256.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private ResponseStatusException badRequest(String message) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, message);
+    }
+}
@@ -0,0 +1,150 @@
+package com.project.autocrud.service;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.project.autocrud.config.OverrideConfig;
+import com.project.autocrud.model.TableMetadata;
+import com.project.autocrud.parser.SqlParser;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Uploaded schemas kept server side, so overrides can be iterated without re-uploading and re-parsing the SQL.
+ * Workspaces live in a bounded LRU map and expire after a period without access.
+ */
+@Service
+public class WorkspaceService {
+
+    private static final int MAX_BASE_ENTRIES = 256; // per-table analysis results kept per workspace
+
+    private final SchemaAnalyzerService analyzer;
+    private final int maxWorkspaces;
+    private final Duration ttl;
+    private final Map<String, Workspace> workspaces;
+
+    public WorkspaceService(SchemaAnalyzerService analyzer,
+                            @Value("${autocrud.workspace.max-entries:32}") int maxWorkspaces,
+                            @Value("${autocrud.workspace.ttl:30m}") Duration ttl) {
+        this.analyzer = analyzer;
+        this.maxWorkspaces = maxWorkspaces;
+        this.ttl = ttl;
+        this.workspaces = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Workspace> eldest) {
+                return size() > WorkspaceService.this.maxWorkspaces;
+            }
+        };
+    }
+
+    /** Parsed statements plus the memoized per-table analysis, keyed by the overrides that produced it. */
+    public static final class Workspace {
+        private final String id;
+        private final List<CreateTable> statements;
+        private final Map<String, TableMetadata> baseTables = Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, TableMetadata> eldest) {
+                        return size() > MAX_BASE_ENTRIES;
+                    }
+                });
+        private volatile Instant lastAccess = Instant.now();
+
+        private Workspace(String id, List<CreateTable> statements) {
+            this.id = id;
+            this.statements = statements;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public List<String> getTableNames() {
+            return statements.stream().map(t -> t.getTable().getName()).toList();
+        }
+
+        public Instant getExpiresAt(Duration ttl) {
+            return lastAccess.plus(ttl);
+        }
+    }
+
+    public Workspace create(String sql) {
+        List<CreateTable> statements;
+        try {
+            statements = SqlParser.parse(sql);
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "SQL could not be parsed: " + e.getMessage(), e);
+        }
+        Workspace workspace = new Workspace(UUID.randomUUID().toString(), statements);
+        synchronized (workspaces) {
+            evictExpired();
+            workspaces.put(workspace.id, workspace);
+        }
+        return workspace;
+    }
+
+    public Workspace get(String id) {
+        synchronized (workspaces) {
+            evictExpired();
+            Workspace workspace = workspaces.get(id);
+            if (workspace == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Workspace " + id + " does not exist or has expired");
+            }
+            workspace.lastAccess = Instant.now();
+            return workspace;
+        }
+    }
+
+    public void delete(String id) {
+        synchronized (workspaces) {
+            workspaces.remove(id);
+        }
+    }
+
+    /** Runs the analysis with new overrides; only tables whose overrides changed are processed again. */
+    public List<TableMetadata> analyze(String id, OverrideConfig overrides) throws Exception {
+        Workspace workspace = get(id);
+        return analyzer.analyze(workspace.statements, overrides, workspace.baseTables);
+    }
+
+    /**
+     * Overrides sent to the workspace endpoints. They are edited and resent in a loop, so malformed JSON is a 400
+     * naming where it failed rather than a silent fallback to no overrides.
+     */
+    public OverrideConfig parseOverrides(String json) {
+        try {
+            return analyzer.readOverrides(json);
+        } catch (JsonProcessingException e) {
+            StringBuilder message = new StringBuilder("Overrides could not be parsed");
+            JsonLocation location = e.getLocation();
+            if (location != null) {
+                message.append(" at line ").append(location.getLineNr()).append(", column ").append(location.getColumnNr());
+            }
+            if (e instanceof JsonMappingException mapping && !mapping.getPath().isEmpty()) {
+                message.append(" (").append(mapping.getPathReference()).append(")");
+            }
+            message.append(": ").append(e.getOriginalMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, message.toString(), e);
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        workspaces.values().removeIf(w -> w.lastAccess.isBefore(cutoff));
+    }
+}
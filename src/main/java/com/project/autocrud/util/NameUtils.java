@@ -42,4 +42,12 @@ public class NameUtils {
         if (pascal == null || pascal.isEmpty()) return pascal;
         return Character.toLowerCase(pascal.charAt(0)) + pascal.substring(1);
     }
+
+    // Lower-case constraint/index name within PostgreSQL's 63 characters; a cut name ends in a hash of the full one,
+    // so two long names sharing their first 63 characters still differ
+    public static String sqlIdentifier(String name) {
+        String lower = name.toLowerCase();
+        if (lower.length() <= 63) return lower;
+        return lower.substring(0, 54) + "_" + String.format("%08x", lower.hashCode());
+    }
 }
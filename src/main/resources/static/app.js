@@ -9,6 +9,13 @@ document.addEventListener('DOMContentLoaded', () => {
     const sqlInput = form.querySelector('input[name="sql"]');
     const overridesInput = form.querySelector('input[name="overrides"]');
     const projectName = form.querySelector('input[name="project-name"]').value.trim();
+    const prodProfile = form.querySelector('input[name="prod-profile"]').checked;
+    const expectedConcurrency = form.querySelector('input[name="expected-concurrency"]').value.trim();
+    const observability = form.querySelector('input[name="observability"]').checked;
+    const readReplica = form.querySelector('input[name="read-replica"]').checked;
+    const jsonCodecs = form.querySelector('input[name="json-codecs"]').checked;
+    const templates = form.querySelector('input[name="templates"]').value.trim();
+    const target = form.querySelector('select[name="target"]').value;
 
     if (!sqlInput.files.length) {
       status.textContent = 'Please select a SQL file.';
@@ -23,6 +30,13 @@ document.addEventListener('DOMContentLoaded', () => {
     fd.append('sql', sqlInput.files[0]);
     if (overridesInput.files.length) fd.append('overrides', overridesInput.files[0]);
     fd.append('project-name', projectName);
+    if (prodProfile) fd.append('prod-profile', 'true');
+    if (expectedConcurrency) fd.append('expected-concurrency', expectedConcurrency);
+    if (observability) fd.append('observability', 'true');
+    if (readReplica) fd.append('read-replica', 'true');
+    if (jsonCodecs) fd.append('json-codecs', 'true');
+    if (templates) fd.append('templates', templates);
+    if (target) fd.append('target', target);
 
     try {
       status.textContent = 'Uploading...';
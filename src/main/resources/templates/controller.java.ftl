@@ -4,9 +4,40 @@ package ${packageName}.controller;
 
 import ${packageName}.entity.${table.className};
 import ${packageName}.service.${table.className}Service;
+<#list childServices as child>
+import ${packageName}.entity.${child};
+import ${packageName}.service.${child}Service;
+</#list>
+<#if table.childResources?has_content>
+import ${packageName}.support.KeysetPage;
+</#if>
+import ${packageName}.support.RowImport.ImportResult;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+<#if versionType??>
+import org.springframework.http.HttpStatus;
+</#if>
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+<#if versionType??>
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+</#if>
+import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+<#if versionType??>
+import org.springframework.web.server.ResponseStatusException;
+</#if>
 
+import java.io.IOException;
+import java.io.InputStream;
+<#if versionType??>
+import java.util.ArrayList;
+</#if>
 import java.util.List;
 
 <#-- Use pkType passed in from generator -->
@@ -20,29 +51,196 @@ import java.util.List;
 public class ${table.className}Controller {
 
 private final ${table.className}Service service;
+<#list childServices as child>
+private final ${child}Service ${child?uncap_first}Service;
+</#list>
 
 @GetMapping
 public List<${table.className}> getAll() {
 return service.findAll();
 }
 
+/**
+<#if filterFields?has_content>
+ * Filters on indexed fields only: ${filterFields?map(f -> f.param)?join(", ")}.
+ * Each as ?${filterFields?last.param}=v, ?${filterFields?last.param}.gte=v (also gt, lt, lte) or ?${filterFields?last.param}.in=v1,v2
+<#else>
+ * No indexed field to filter on: only paging and sorting apply
+</#if>
+ */
+@GetMapping("/search")
+public PagedModel<${table.className}> search(@RequestParam MultiValueMap<String, String> params,
+        @PageableDefault(size = 20) Pageable pageable) {
+return new PagedModel<>(service.search(params, pageable));
+}
+
+/**
+ * Full-table export streamed from a database cursor: ?format=ndjson (default) or ?format=csv
+ */
+@GetMapping("/export")
+public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+boolean csv = "csv".equalsIgnoreCase(format);
+StreamingResponseBody body = out -> service.export(out, csv);
+return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(csv ? "text/csv" : "application/x-ndjson"))
+        .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"${table.endpointPath}." + (csv ? "csv" : "ndjson") + "\"")
+        .body(body);
+}
+
+/**
+ * Bulk import of an NDJSON (default) or CSV body in the /export format, persisted in batches.
+ * Rows that fail are skipped and reported, the rest are kept.
+ */
+@PostMapping("/import")
+public ImportResult importRows(@RequestParam(defaultValue = "ndjson") String format,
+        @RequestParam(required = false) Integer batchSize,
+        InputStream body) throws IOException {
+return service.importRows(body, "csv".equalsIgnoreCase(format), batchSize);
+}
+
+<#if versionType??>
+@GetMapping("/{id}")
+public ResponseEntity<${table.className}> getById(@PathVariable ${pkType} id,
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+if (ifNoneMatch != null) {
+    // only the version column is read when the client copy is still current
+    ${versionType} current = service.findVersionById(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    if (matchesETag(ifNoneMatch, current)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(toETag(current)).build();
+    }
+}
+${table.className} entity = service.findById(id);
+return ResponseEntity.ok().eTag(toETag(entity.get${table.versionField?cap_first}())).body(entity);
+}
+<#else>
 @GetMapping("/{id}")
 public ${table.className} getById(@PathVariable ${pkType} id) {
 return service.findById(id);
 }
+</#if>
+
+<#list table.childResources as r>
+<#assign childService = (r.childClass == table.className)?then("service", r.childClass?uncap_first + "Service")>
+/**
+ * ${r.childTable} rows of one ${table.tableName} row (${r.fkColumn}) in ${r.childPkField} order, e.g. ?limit=50,
+ * then ?after= the returned "next" value until it is null
+ */
+@GetMapping("/{id}/${r.path}")
+public KeysetPage<${r.childClass}, ${r.childPkType}> get${r.path?replace("-", " ")?capitalize?replace(" ", "")}(@PathVariable ${r.parentPkType} id,
+        @RequestParam(required = false) ${r.childPkType} after,
+        @RequestParam(defaultValue = "20") int limit) {
+int size = Math.max(1, Math.min(limit, 100));
+return KeysetPage.of(${childService}.findPageBy${r.relationshipField?cap_first}(id, after, size + 1), size, ${r.childClass}::get${r.childPkField?cap_first});
+}
 
+</#list>
 @PostMapping
 public ${table.className} create(@RequestBody ${table.className} entity) {
 return service.save(entity);
 }
 
+<#if table.upsertKey?has_content>
+/**
+ * Create or replace by (${table.upsertKey?join(", ")}) without a prior GET, returns the affected row count
+<#if versionType??>
+ * (412 when an existing row has another ${table.versionField} than the body)
+</#if>
+ */
+@PutMapping("/upsert")
+public int upsert(@RequestBody ${table.className} entity) {
+return service.upsert(entity);
+}
+
+@PutMapping("/upsert/batch")
+public int upsertAll(@RequestBody List<${table.className}> entities) {
+return service.upsertAll(entities);
+}
+
+</#if>
+<#if versionType??>
+@PutMapping("/{id}")
+public ResponseEntity<${table.className}> update(@PathVariable ${pkType} id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody ${table.className} entity) {
+if (ifMatch == null) {
+    return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+}
+// "*" (empty) is resolved by the service, inside the write transaction
+${table.className} saved = service.update(id, entity, parseIfMatch(ifMatch));
+return ResponseEntity.ok().eTag(toETag(saved.get${table.versionField?cap_first}())).body(saved);
+}
+<#else>
 @PutMapping("/{id}")
 public ${table.className} update(@PathVariable ${pkType} id, @RequestBody ${table.className} entity) {
 return service.update(id, entity);
 }
+</#if>
+
+<#if versionType??>
+@PatchMapping("/{id}")
+public ResponseEntity<${table.className}> patch(@PathVariable ${pkType} id,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @RequestBody JsonNode changes) throws IOException {
+if (ifMatch == null) {
+    return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+}
+${table.className} saved = service.patch(id, changes, parseIfMatch(ifMatch));
+return ResponseEntity.ok().eTag(toETag(saved.get${table.versionField?cap_first}())).body(saved);
+}
+<#else>
+@PatchMapping("/{id}")
+public ${table.className} patch(@PathVariable ${pkType} id, @RequestBody JsonNode changes) throws IOException {
+return service.patch(id, changes);
+}
+</#if>
 
 @DeleteMapping("/{id}")
 public void delete(@PathVariable ${pkType} id) {
 service.deleteById(id);
 }
+
+@DeleteMapping
+public int deleteAll(@RequestBody List<${pkType}> ids) {
+return service.deleteAllById(ids);
+}
+<#if versionType??>
+
+@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+public ResponseEntity<Void> onVersionConflict() {
+return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+}
+
+private static String toETag(${versionType} version) {
+return "\"" + version + "\"";
+}
+
+/**
+ * Versions listed in If-Match ("3", "4" or a single tag), empty for *. A tag that is not a version of
+ * this resource is a malformed request (400); a well-formed list without the current version ends in 412.
+ */
+private static List<${versionType}> parseIfMatch(String header) {
+if ("*".equals(header.trim())) return List.of();
+List<${versionType}> versions = new ArrayList<>();
+for (String tag : header.split(",")) {
+    try {
+        versions.add(${versionType}.valueOf(tag.trim().replaceFirst("^W/", "").replace("\"", "")));
+    } catch (NumberFormatException e) {
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Malformed If-Match header: " + header);
+    }
+}
+return versions;
+}
+
+private static boolean matchesETag(String header, ${versionType} version) {
+for (String tag : header.split(",")) {
+    String value = tag.trim();
+    if ("*".equals(value) || value.replaceFirst("^W/", "").replace("\"", "").equals(String.valueOf(version))) {
+        return true;
+    }
+}
+return false;
+}
+</#if>
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+<#-- src/main/resources/templates/entity-json-module.java.ftl -->
+package ${packageName}.json;
+
+<#list classNames as className>
+import ${packageName}.entity.${className};
+</#list>
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers the generated codecs; Spring Boot adds every Module bean to the application ObjectMapper.
+ */
+@Component
+public class EntityJsonModule extends SimpleModule {
+
+    public EntityJsonModule() {
+        super("EntityJsonModule");
+<#list classNames as className>
+        addSerializer(${className}.class, new ${className}JsonCodec.Serializer());
+        addDeserializer(${className}.class, new ${className}JsonCodec.Deserializer());
+</#list>
+    }
+}
@@ -4,12 +4,32 @@ package ${packageName}.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.DynamicUpdate;
+<#if table.view>
+import org.hibernate.annotations.Immutable;
+</#if>
+<#if table.hasSoftDelete && table.softDeleteColumn??>
+import org.hibernate.annotations.SQLRestriction;
+</#if>
 import java.time.*;
+import java.util.Objects;
 <#-- BigDecimal import if needed -->
 <#if hasBigDecimal>
     import java.math.BigDecimal;
 </#if>
 
+<#-- JSON: Hibernate's JSON JDBC type, read and written through the Jackson format mapper -->
+<#assign jsonColumns = table.columns?filter(c -> c.isJson() && c.javaType.simpleName != "String") />
+<#if jsonColumns?has_content>
+    import com.fasterxml.jackson.databind.JsonNode;
+    import org.hibernate.annotations.JdbcTypeCode;
+    import org.hibernate.type.SqlTypes;
+</#if>
+<#list jsonTypes as jsonType>
+    import ${jsonType};
+</#list>
+
 <#-- AUDIT -->
 <#assign hasAudit = table.hasAudit || table.columns?filter(c -> c.isCreatedAt() || c.isUpdatedAt())?has_content />
 <#if hasAudit>
@@ -18,19 +38,19 @@ import java.time.*;
     import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 </#if>
 
-<#-- ENUMS -->
-<#list table.columns as col>
-    <#if col.enumClass??>
-        import ${packageName}.entity.${col.enumClass};
-        <#break>
-    </#if>
-</#list>
-
-<#-- RELATIONSHIPS: need List import if any OneToMany -->
-<#assign hasOneToMany = table.relationships?filter(r -> r.relationshipType?matches("(?i)OneToMany"))?has_content />
-<#if hasOneToMany>
-    import java.util.List;
-    import java.util.ArrayList;
+<#-- RELATIONSHIPS: collections are Sets, Hibernate then adds/removes single join rows instead of rewriting a bag -->
+<#assign hasCollection = table.relationships?filter(r -> r.relationshipType?matches("(?i)OneToMany|ManyToMany"))?has_content />
+<#if hasCollection>
+    import java.util.Set;
+    import java.util.HashSet;
+</#if>
+<#-- inverse (mappedBy) collections are lazy, batch fetched and never serialized: the owning side already carries the link -->
+<#assign hasInverseCollection = table.relationships?filter(r -> r.relationshipType?matches("(?i)OneToMany|ManyToMany") && (r.mappedBy!"")?has_content)?has_content />
+<#if hasInverseCollection>
+    import com.fasterxml.jackson.annotation.JsonIgnore;
+    import org.hibernate.annotations.BatchSize;
+    import org.hibernate.annotations.Fetch;
+    import org.hibernate.annotations.FetchMode;
 </#if>
 
 <#-- IMPORT TARGET ENTITIES -->
@@ -43,8 +63,25 @@ import java.time.*;
     import ${packageName}.entity.${table.className}Id;
 </#if>
 
+<#-- partial (WHERE) and GIN indexes cannot be declared in @Table: they exist in the V3 migration only,
+     so a create-drop schema (load-test profile) has neither instead of a full index with different semantics -->
+<#assign tableIndexes = table.indexes?filter(i -> !i.method?? && !i.where??) />
 @Entity
-@Table(name = "${table.tableName}")
+@Table(name = "${table.tableName}"<#if tableIndexes?has_content>, indexes = {
+<#list tableIndexes as idx>
+    @Index(name = "${idx.name}", columnList = "${idx.columns?join(", ")}"<#if idx.unique>, unique = true</#if>)<#sep>,</#sep>
+</#list>
+}</#if>)
+<#if table.view>
+<#-- rows of a view are never written: no dirty checking, no UPDATE/DELETE statements -->
+@Immutable
+<#else>
+@DynamicUpdate
+</#if>
+<#if table.hasSoftDelete && table.softDeleteColumn??>
+<#-- every query, find() and collection load skips soft-deleted rows; served by the partial indexes of the migrations -->
+@SQLRestriction("${table.softDeleteColumn} IS NULL")
+</#if>
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 <#if hasAudit>
     @EntityListeners(AuditingEntityListener.class)
@@ -56,8 +93,8 @@ public class ${table.className} {
     <#-- For join tables, generate @Id on each ManyToOne FK field (no EmbeddedId) -->
     <#list table.relationships as rel>
         <#-- find corresponding column -->
-        <#assign fkCol = table.columns?filter(c -> c.name == rel.fkColumn)?first>
-        <#if fkCol?exists && fkCol.primaryKey>
+        <#assign fkCol = (table.columns?filter(c -> c.name == (rel.fkColumn!""))?first)!>
+        <#if fkCol?has_content && fkCol.primaryKey>
             @Id
             @ManyToOne
             @JoinColumn(name = "${rel.fkColumn}")
@@ -79,7 +116,9 @@ public class ${table.className} {
             <#list table.columns as col>
                 <#if col.isPrimaryKey()>
                     @Id
+                    <#if !table.view>
                     @GeneratedValue(strategy = GenerationType.IDENTITY)
+                    </#if>
                     private ${col.javaType.simpleName} ${col.fieldName};
                     <#break>
                 </#if>
@@ -90,8 +129,12 @@ public class ${table.className} {
 
 <#-- === CỘT THƯỜNG (BỎ FK) === -->
 <#list table.columns as col>
-    <#if col.isPrimaryKey() || col.isForeignKey()><#continue></#if>
-    <#if col.isCreatedAt()>
+    <#if col.isPrimaryKey() || table.relationships?filter(r -> (r.fkColumn!"") == col.name)?has_content><#continue></#if>
+    <#if col.isVersion()>
+        @Version
+        @Column(name = "${col.name}")
+        private ${col.javaType.simpleName} ${col.fieldName};
+    <#elseif col.isCreatedAt()>
         @CreatedDate
         @Column(updatable = false)
         private LocalDateTime ${col.fieldName};
@@ -100,20 +143,22 @@ public class ${table.className} {
         private LocalDateTime ${col.fieldName};
     <#elseif col.isDeletedAt()>
         private LocalDateTime ${col.fieldName};
-    <#elseif col.enumClass??>
-        @Enumerated(EnumType.STRING)
-        private ${col.enumClass} ${col.fieldName};
+    <#elseif col.isJson() && col.javaType.simpleName != "String">
+        @JdbcTypeCode(SqlTypes.JSON)
+        @Column(name = "${col.name}", columnDefinition = "${col.sqlType?lower_case}"<#if !col.isNullable()>, nullable = false</#if>)
+        private ${(col.jsonType?keep_after_last("."))!"JsonNode"} ${col.fieldName};
     <#elseif col.isJson()>
-        @Column(columnDefinition = "json")
-        private String ${col.fieldName};
-    <#elseif col.javaType.simpleName == "JsonNode">
-        <#-- fallback, but SchemaAnalyzer should convert JsonNode to String -->
-        @Column(columnDefinition = "json")
+        <#-- javaType "string" override: raw JSON text -->
+        @Column(name = "${col.name}", columnDefinition = "${col.sqlType?lower_case}")
         private String ${col.fieldName};
     <#elseif col.javaType.simpleName == "BigDecimal">
         private BigDecimal ${col.fieldName};
     <#else>
-        @Column(name = "${col.name}"<#if !col.isNullable()>, nullable = false</#if><#if col.isUnique()>, unique = true</#if>)
+        <#if col.isLazy()>
+        <#-- only loaded when read; needs the bytecode enhancement plugin of the pom -->
+        @Basic(fetch = FetchType.LAZY)
+        </#if>
+        @Column(name = "${col.name}"<#if !col.isNullable()>, nullable = false</#if><#if col.isUnique() && !col.uniqueAmongLive>, unique = true</#if>)
         private ${col.javaType.simpleName} ${col.fieldName};
     </#if>
 
@@ -122,12 +167,12 @@ public class ${table.className} {
 <#-- === RELATIONSHIPS === -->
 <#list table.relationships as rel>
     <#-- find corresponding column for possible @MapsId usage -->
-    <#assign fkCol = table.columns?filter(c -> c.name == rel.fkColumn)?first>
+    <#assign fkCol = (table.columns?filter(c -> c.name == (rel.fkColumn!""))?first)!>
 
     <#-- Skip relationships already rendered as @Id in join-table composite case -->
     <#if table.compositePrimaryKey && table.joinTable>
         <#-- check if this rel was emitted above: find fk column and if it's pk, skip -->
-        <#if fkCol?exists && fkCol.primaryKey>
+        <#if fkCol?has_content && fkCol.primaryKey>
             <#-- already rendered as @Id ManyToOne above -->
             <#continue>
         </#if>
@@ -135,60 +180,95 @@ public class ${table.className} {
 
     <#if rel.relationshipType?matches("(?i)ManyToOne")>
         <#-- If this FK is part of the composite PK and we're using EmbeddedId, map it to the embeddable id -->
-        <#if table.compositePrimaryKey && !table.joinTablePure && fkCol?exists && fkCol.primaryKey>
+        <#if table.compositePrimaryKey && !table.joinTablePure && fkCol?has_content && fkCol.primaryKey>
             @MapsId("${fkCol.fieldName}")
         </#if>
-        @ManyToOne<#if rel.cascade?? && rel.cascade?length > 0>(cascade = CascadeType.${rel.cascade})</#if>
+        @ManyToOne<#if rel.cascade?? && (rel.cascade?length > 0)>(cascade = CascadeType.${rel.cascade})</#if>
         @JoinColumn(name = "${rel.fkColumn}"<#if rel.nullable == false>, nullable = false</#if>)
         private ${rel.targetClass} ${rel.fieldName};
 
     <#elseif rel.relationshipType?matches("(?i)OneToOne")>
         <#if rel.mappedBy?? && (rel.mappedBy?length > 0)>
-            @OneToOne(mappedBy = "${rel.mappedBy}"<#if rel.cascade?? && rel.cascade?length > 0>, cascade = CascadeType.${rel.cascade}</#if>)
+            @OneToOne(mappedBy = "${rel.mappedBy}"<#if rel.cascade?? && (rel.cascade?length > 0)>, cascade = CascadeType.${rel.cascade}</#if>)
             private ${rel.targetClass} ${rel.fieldName};
         <#else>
             <#-- Owning OneToOne may also need @MapsId when FK is part of composite PK -->
-            <#if table.compositePrimaryKey && !table.joinTablePure && fkCol?exists && fkCol.primaryKey>
+            <#if table.compositePrimaryKey && !table.joinTablePure && fkCol?has_content && fkCol.primaryKey>
                 @MapsId("${fkCol.fieldName}")
             </#if>
-            @OneToOne<#if rel.cascade?? && rel.cascade?length > 0>(cascade = CascadeType.${rel.cascade})</#if>
+            @OneToOne<#if rel.cascade?? && (rel.cascade?length > 0)>(cascade = CascadeType.${rel.cascade})</#if>
             @JoinColumn(name = "${rel.fkColumn}"<#if rel.nullable == false>, nullable = false</#if>)
             private ${rel.targetClass} ${rel.fieldName};
         </#if>
 
     <#elseif rel.relationshipType?matches("(?i)OneToMany")>
         <#if rel.mappedBy?? && (rel.mappedBy?length > 0)>
-            @OneToMany(mappedBy = "${rel.mappedBy}"<#if rel.cascade?? && rel.cascade?length > 0>, cascade = CascadeType.${rel.cascade}</#if><#if rel.orphanRemoval>, orphanRemoval = true</#if>)
-            private List<${rel.targetClass}> ${rel.fieldName} = new ArrayList<>();
+            @OneToMany(mappedBy = "${rel.mappedBy}", fetch = FetchType.LAZY<#if rel.cascade?? && (rel.cascade?length > 0)>, cascade = CascadeType.${rel.cascade}</#if><#if rel.orphanRemoval>, orphanRemoval = true</#if>)
+            <#if (rel.fetchMode!"") == "subselect">
+            @Fetch(FetchMode.SUBSELECT)
+            <#else>
+            @BatchSize(size = 32)
+            </#if>
+            @JsonIgnore
+            @Builder.Default
+            private Set<${rel.targetClass}> ${rel.fieldName} = new HashSet<>();
         <#else>
-            @OneToMany<#if rel.cascade?? && rel.cascade?length > 0>(cascade = CascadeType.${rel.cascade})</#if>
+            @OneToMany<#if rel.cascade?? && (rel.cascade?length > 0)>(cascade = CascadeType.${rel.cascade})</#if>
             @JoinColumn(name = "${rel.fkColumn}")
-            private List<${rel.targetClass}> ${rel.fieldName} = new ArrayList<>();
+            @Builder.Default
+            private Set<${rel.targetClass}> ${rel.fieldName} = new HashSet<>();
         </#if>
 
     <#elseif rel.relationshipType?matches("(?i)ManyToMany")>
         <#if rel.mappedBy?? && (rel.mappedBy?length > 0)>
             @ManyToMany(mappedBy = "${rel.mappedBy}")
-            private List<${rel.targetClass}> ${rel.fieldName} = new ArrayList<>();
+            @BatchSize(size = 32)
+            @JsonIgnore
+            @Builder.Default
+            private Set<${rel.targetClass}> ${rel.fieldName} = new HashSet<>();
         <#else>
             @ManyToMany
             @JoinTable(name = "${rel.joinTableName}",
                 joinColumns = @JoinColumn(name = "${rel.joinColumn}"),
                 inverseJoinColumns = @JoinColumn(name = "${rel.inverseJoinColumn}")
             )
-            private List<${rel.targetClass}> ${rel.fieldName} = new ArrayList<>();
+            @Builder.Default
+            private Set<${rel.targetClass}> ${rel.fieldName} = new HashSet<>();
         </#if>
 
     <#else>
         <#-- default: treat as ManyToOne and apply @MapsId if FK is part of composite PK -->
-        <#if table.compositePrimaryKey && !table.joinTablePure && fkCol?exists && fkCol.primaryKey>
+        <#if table.compositePrimaryKey && !table.joinTablePure && fkCol?has_content && fkCol.primaryKey>
             @MapsId("${fkCol.fieldName}")
         </#if>
-        @ManyToOne<#if rel.cascade?? && rel.cascade?length > 0>(cascade = CascadeType.${rel.cascade})</#if>
+        @ManyToOne<#if rel.cascade?? && (rel.cascade?length > 0)>(cascade = CascadeType.${rel.cascade})</#if>
         @JoinColumn(name = "${rel.fkColumn}"<#if rel.nullable == false>, nullable = false</#if>)
         private ${rel.targetClass} ${rel.fieldName};
     </#if>
 
 </#list>
 
+<#-- === IDENTITY: by primary key, proxy-safe (getClassLazy never initializes a proxy), stable hashCode so Set membership survives persist === -->
+<#if table.compositePrimaryKey>
+    <#assign idGetter = "getId()">
+<#elseif table.primaryKeyColumns?has_content>
+    <#assign idGetter = "get" + table.primaryKeyColumns[0]?cap_first + "()">
+<#else>
+    <#assign idGetter = "getId()">
+</#if>
+<#if !(table.compositePrimaryKey && table.joinTable)>
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClassLazy(this) != Hibernate.getClassLazy(o)) return false;
+        ${table.className} other = (${table.className}) o;
+        return ${idGetter} != null && Objects.equals(${idGetter}, other.${idGetter});
+    }
+
+    @Override
+    public int hashCode() {
+        // constant per class: the id is only assigned on persist
+        return Hibernate.getClassLazy(this).hashCode();
+    }
+</#if>
 }
\ No newline at end of file
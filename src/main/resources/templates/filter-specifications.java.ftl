@@ -0,0 +1,117 @@
+<#-- src/main/resources/templates/filter-specifications.java.ftl -->
+package ${packageName}.support;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+
+/**
+ * Builds Specifications from query parameters, restricted to indexed fields.
+ *
+ * <ul>
+ *   <li>{@code field=value} equality</li>
+ *   <li>{@code field.gt / field.gte / field.lt / field.lte=value} range</li>
+ *   <li>{@code field.in=a,b,c} membership</li>
+ * </ul>
+ * Any other field is rejected with 400 so a request can never force a full table scan.
+ */
+public final class FilterSpecifications {
+
+    private static final Set<String> PAGING_PARAMS = Set.of("page", "size", "sort");
+    private static final Set<String> OPERATORS = Set.of("eq", "gt", "gte", "lt", "lte", "in");
+
+    /** A filterable field: its Java type and the attribute path from the root entity. */
+    public record FilterField(Class<?> type, String... path) {
+        String dottedPath() {
+            return String.join(".", path);
+        }
+    }
+
+    private FilterSpecifications() {
+    }
+
+    public static <T> Specification<T> build(MultiValueMap<String, String> params, Map<String, FilterField> allowed) {
+        List<Specification<T>> specs = new ArrayList<>();
+        params.forEach((key, values) -> {
+            if (PAGING_PARAMS.contains(key)) return;
+            int dot = key.lastIndexOf('.');
+            String name = dot > 0 && OPERATORS.contains(key.substring(dot + 1)) ? key.substring(0, dot) : key;
+            String op = name.equals(key) ? "eq" : key.substring(dot + 1);
+            FilterField field = allowed.get(name);
+            if (field == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Filtering on '" + name + "' is not allowed, indexed fields: " + allowed.keySet());
+            }
+            for (String value : values) {
+                specs.add((root, query, cb) -> predicate(root, cb, field, op, value));
+            }
+        });
+        return Specification.allOf(specs);
+    }
+
+    /** Sorting is limited to the same indexed fields, either by parameter name or attribute path. */
+    public static Sort checkSort(Sort sort, Map<String, FilterField> allowed) {
+        List<Sort.Order> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            FilterField field = allowed.get(order.getProperty());
+            if (field == null) {
+                field = allowed.values().stream()
+                        .filter(f -> f.dottedPath().equals(order.getProperty()))
+                        .findFirst()
+                        .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Sorting on '" + order.getProperty() + "' is not allowed, indexed fields: " + allowed.keySet()));
+            }
+            orders.add(order.withProperty(field.dottedPath()));
+        }
+        return Sort.by(orders);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate predicate(Root<?> root, CriteriaBuilder cb, FilterField field, String op, String raw) {
+        Path<?> path = root;
+        for (String segment : field.path()) {
+            path = path.get(segment);
+        }
+        if ("in".equals(op)) {
+            CriteriaBuilder.In<Object> in = cb.in((Expression<Object>) path);
+            for (String item : raw.split(",")) {
+                in.value(convert(item.trim(), field.type()));
+            }
+            return in;
+        }
+        Comparable value = (Comparable) convert(raw, field.type());
+        Expression<Comparable> expr = (Expression<Comparable>) path;
+        return switch (op) {
+            case "gt" -> cb.greaterThan(expr, value);
+            case "gte" -> cb.greaterThanOrEqualTo(expr, value);
+            case "lt" -> cb.lessThan(expr, value);
+            case "lte" -> cb.lessThanOrEqualTo(expr, value);
+            default -> cb.equal(path, value);
+        };
+    }
+
+    private static Object convert(String value, Class<?> type) {
+        try {
+            if (type == LocalDate.class) return LocalDate.parse(value);
+            if (type == LocalDateTime.class) return LocalDateTime.parse(value);
+            if (type == LocalTime.class) return LocalTime.parse(value);
+            return DefaultConversionService.getSharedInstance().convert(value, type);
+        } catch (RuntimeException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "'" + value + "' is not a valid " + type.getSimpleName(), e);
+        }
+    }
+}
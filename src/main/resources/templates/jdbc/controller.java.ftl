@@ -0,0 +1,72 @@
+<#-- src/main/resources/templates/jdbc/controller.java.ftl -->
+package ${packageName}.controller;
+
+import ${packageName}.entity.${table.className};
+import ${packageName}.service.${table.className}Service;
+import lombok.RequiredArgsConstructor;
+<#if versionField??>
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+</#if>
+import org.springframework.web.bind.annotation.*;
+
+import java.time.*;
+import java.util.List;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+@RestController
+@RequestMapping("/api/${table.endpointPath}")
+@RequiredArgsConstructor
+public class ${table.className}Controller {
+
+    private final ${table.className}Service service;
+
+    @GetMapping
+    public List<${table.className}> getAll() {
+        return service.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public ${table.className} getById(@PathVariable ${pkType} id) {
+        return service.findById(id);
+    }
+
+    @PostMapping
+    public ${table.className} create(@RequestBody ${table.className} row) {
+        return service.save(row);
+    }
+
+    // Inserts all rows as one JDBC batch, returns the inserted row count
+    @PostMapping("/batch")
+    public int createAll(@RequestBody List<${table.className}> rows) {
+        return service.saveAll(rows);
+    }
+
+    @PutMapping("/{id}")
+    public ${table.className} update(@PathVariable ${pkType} id, @RequestBody ${table.className} row) {
+        return service.update(id, row);
+    }
+
+    @DeleteMapping("/{id}")
+    public void delete(@PathVariable ${pkType} id) {
+        service.deleteById(id);
+    }
+
+    @DeleteMapping
+    public int deleteAll(@RequestBody List<${pkType}> ids) {
+        return service.deleteAllById(ids);
+    }
+<#if versionField??>
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> onVersionConflict() {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).build();
+    }
+</#if>
+}
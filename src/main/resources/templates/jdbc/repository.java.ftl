@@ -0,0 +1,104 @@
+<#-- src/main/resources/templates/jdbc/repository.java.ftl -->
+package ${packageName}.repository;
+
+import ${packageName}.entity.${table.className};
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.JdbcClient;
+<#if autoPk>
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+</#if>
+import org.springframework.stereotype.Repository;
+
+import java.time.*;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+@Repository
+@RequiredArgsConstructor
+public class ${table.className}Repository {
+
+    private static final String SELECT = "${selectSql}";
+    private static final String INSERT = "${insertSql}";
+    private static final String UPDATE = "${updateSql}";
+    private static final String DELETE = "${deleteSql}";
+    private static final String DELETE_ALL = "${deleteAllSql}";
+
+    private static final ${table.className}RowMapper ROW_MAPPER = new ${table.className}RowMapper();
+
+    private final JdbcClient jdbc;
+    private final NamedParameterJdbcTemplate namedJdbc;
+
+    public List<${table.className}> findAll() {
+        return jdbc.sql(SELECT).query(ROW_MAPPER).list();
+    }
+
+    public Optional<${table.className}> findById(${pkType} id) {
+        return jdbc.sql(SELECT + "<#if softDeleteColumn??> AND<#else> WHERE</#if> ${pkColumn} = :id").param("id", id).query(ROW_MAPPER).optional();
+    }
+
+    public ${table.className} insert(${table.className} row) {
+        ${table.className} stamped = stampForInsert(row);
+<#if autoPk>
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.sql(INSERT).paramSource(params(stamped)).update(keys, "${pkColumn}");
+        ${pkType} id = keys.getKey().${keyConversion};
+        return new ${table.className}(<#list keyedArgs as a>${a}<#sep>, </#sep></#list>);
+<#else>
+        jdbc.sql(INSERT).paramSource(params(stamped)).update();
+        return stamped;
+</#if>
+    }
+
+    // one prepared statement, executed as a JDBC batch
+    public int[] insertAll(List<${table.className}> rows) {
+        SqlParameterSource[] batch = rows.stream()
+                .map(row -> params(stampForInsert(row)))
+                .toArray(SqlParameterSource[]::new);
+        return namedJdbc.batchUpdate(INSERT, batch);
+    }
+
+    /**
+     * @return the written row, empty when no row matched<#if versionField??> the id and version</#if>
+     */
+    public Optional<${table.className}> update(${pkType} id, ${table.className} row) {
+<#if stamped>
+        LocalDateTime now = LocalDateTime.now();
+</#if>
+        ${table.className} stamped = new ${table.className}(<#list updateArgs as a>${a}<#sep>, </#sep></#list>);
+        if (jdbc.sql(UPDATE).paramSource(params(stamped)).update() == 0) return Optional.empty();
+        return Optional.of(new ${table.className}(<#list updatedArgs as a>${a}<#sep>, </#sep></#list>));
+    }
+
+    public int deleteById(${pkType} id) {
+        return jdbc.sql(DELETE).param("${pkField}", id).update();
+    }
+
+    public int deleteAllById(Collection<${pkType}> ids) {
+        return jdbc.sql(DELETE_ALL).param("ids", ids).update();
+    }
+
+    private static ${table.className} stampForInsert(${table.className} row) {
+<#if stamped>
+        LocalDateTime now = LocalDateTime.now();
+</#if>
+        return new ${table.className}(<#list insertArgs as a>${a}<#sep>, </#sep></#list>);
+    }
+
+    private static SqlParameterSource params(${table.className} row) {
+        return new MapSqlParameterSource()
+<#list fields as f>
+                .addValue("${f.name}", row.${f.name}())<#if !f?has_next>;</#if>
+</#list>
+    }
+}
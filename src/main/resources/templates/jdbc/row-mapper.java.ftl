@@ -0,0 +1,28 @@
+<#-- src/main/resources/templates/jdbc/row-mapper.java.ftl -->
+package ${packageName}.repository;
+
+import ${packageName}.entity.${table.className};
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.*;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+// Column access by name with explicit types, no reflection per row
+public class ${table.className}RowMapper implements RowMapper<${table.className}> {
+
+    @Override
+    public ${table.className} mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return new ${table.className}(
+<#list fields as f>
+                ${f.read}<#sep>,</#sep>
+</#list>
+        );
+    }
+}
@@ -0,0 +1,21 @@
+<#-- src/main/resources/templates/jdbc/row.java.ftl -->
+package ${packageName}.entity;
+
+import java.time.*;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+/**
+ * Immutable row of ${table.tableName}, read and written with JdbcClient (table mode "jdbc").
+ * No persistence context, proxies or dirty checking; foreign keys are plain values.
+ */
+public record ${table.className}(
+<#list fields as f>
+        ${f.type} ${f.name}<#sep>,</#sep>
+</#list>
+) {
+}
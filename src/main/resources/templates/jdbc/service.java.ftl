@@ -0,0 +1,77 @@
+<#-- src/main/resources/templates/jdbc/service.java.ftl -->
+package ${packageName}.service;
+
+import ${packageName}.entity.${table.className};
+import ${packageName}.repository.${table.className}Repository;
+<#if options.observability>
+import io.micrometer.core.annotation.Timed;
+</#if>
+import lombok.RequiredArgsConstructor;
+<#if versionField??>
+import org.springframework.dao.OptimisticLockingFailureException;
+</#if>
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.*;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+<#if options.observability>
+@Timed(value = "crud.service", extraTags = {"entity", "${table.className}"}, histogram = true)
+</#if>
+public class ${table.className}Service {
+
+    private final ${table.className}Repository repository;
+
+    @Transactional(readOnly = true)
+    public List<${table.className}> findAll() {
+        return repository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public ${table.className} findById(${pkType} id) {
+        return repository.findById(id).orElseThrow();
+    }
+
+    public ${table.className} save(${table.className} row) {
+        return repository.insert(row);
+    }
+
+    public int saveAll(List<${table.className}> rows) {
+        if (rows.isEmpty()) return 0;
+        // drivers may answer SUCCESS_NO_INFO (-2) for batched statements
+        return Arrays.stream(repository.insertAll(rows)).map(n -> n < 0 ? 1 : n).sum();
+    }
+
+    public ${table.className} update(${pkType} id, ${table.className} row) {
+        return repository.update(id, row).orElseThrow(() ->
+<#if versionField??>
+                repository.findById(id).isPresent()
+                        ? new OptimisticLockingFailureException("${table.className} " + id + " was changed by another request")
+                        : new NoSuchElementException("${table.className} " + id + " not found"));
+<#else>
+                new NoSuchElementException("${table.className} " + id + " not found"));
+</#if>
+    }
+
+    public void deleteById(${pkType} id) {
+        repository.deleteById(id);
+    }
+
+    public int deleteAllById(Collection<${pkType}> ids) {
+        if (ids.isEmpty()) return 0;
+        return repository.deleteAllById(ids);
+    }
+}
@@ -0,0 +1,86 @@
+<#-- src/main/resources/templates/json-benchmark.java.ftl -->
+package ${packageName}.json;
+
+<#list samples as s>
+import ${packageName}.entity.${s.className};
+</#list>
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated codecs against Jackson's reflective bean mapping, on the mapper settings of Spring Boot
+ * (modules found on the classpath, ISO dates). One sample row per entity, associations left empty.
+ *
+ * <pre>
+ * ./mvnw -Pjmh test-compile exec:exec
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EntityJsonBenchmark {
+
+    private static final Map<String, Class<?>> TYPES = Map.ofEntries(
+<#list samples as s>
+            Map.entry("${s.className}", ${s.className}.class)<#sep>,</#sep>
+</#list>
+    );
+
+    private static final Map<String, String> SAMPLES = Map.ofEntries(
+<#list samples as s>
+            Map.entry("${s.className}", "${s.json}")<#sep>,</#sep>
+</#list>
+    );
+
+    @Param({<#list samples as s>"${s.className}"<#sep>, </#sep></#list>})
+    public String entity;
+
+    private ObjectMapper reflective;
+    private ObjectMapper generated;
+    private Class<?> type;
+    private Object value;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws Exception {
+        reflective = JsonMapper.builder()
+                .findAndAddModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        generated = reflective.copy().registerModule(new EntityJsonModule());
+        type = TYPES.get(entity);
+        value = reflective.readValue(SAMPLES.get(entity), type);
+        json = reflective.writeValueAsBytes(value);
+        if (!reflective.readTree(json).equals(generated.readTree(generated.writeValueAsBytes(value)))) {
+            throw new IllegalStateException(entity + ": generated codec output differs from the reflective mapping");
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeReflective() throws Exception {
+        return reflective.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] serializeGenerated() throws Exception {
+        return generated.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object deserializeReflective() throws Exception {
+        return reflective.readValue(json, type);
+    }
+
+    @Benchmark
+    public Object deserializeGenerated() throws Exception {
+        return generated.readValue(json, type);
+    }
+}
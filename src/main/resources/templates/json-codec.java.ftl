@@ -0,0 +1,118 @@
+<#-- src/main/resources/templates/json-codec.java.ftl -->
+package ${packageName}.json;
+
+import ${packageName}.entity.${table.className};
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+<#if fields?filter(f -> f.lazy || f.kind == "set")?has_content>
+import org.hibernate.Hibernate;
+</#if>
+
+import java.io.IOException;
+
+/**
+ * Streaming JSON mapping of {@link ${table.className}}, written out field by field instead of through
+ * Jackson's reflective bean serializer. Same properties, order and null handling as the default mapping;
+ * associations and non-scalar values are handed to their own serializers (other entities: their codec).
+ */
+public final class ${table.className}JsonCodec {
+
+    private ${table.className}JsonCodec() {
+    }
+
+    public static final class Serializer extends StdSerializer<${table.className}> {
+
+        public Serializer() {
+            super(${table.className}.class);
+        }
+
+        @Override
+        public void serialize(${table.className} value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+<#list fields?filter(f -> f.kind != "ignored") as f>
+<#if f.lazy>
+            // lazy column: written once loaded (single-row reads), never fetched just to be serialized
+            if (Hibernate.isPropertyInitialized(value, "${f.name}")) {
+<@write f "                "/>
+            }
+<#elseif f.kind == "set">
+            // owned collection: written once loaded (single-row reads), never fetched just to be serialized
+            if (Hibernate.isInitialized(value.get${f.name?cap_first}())) {
+<@write f "                "/>
+            }
+<#else>
+<@write f "            "/>
+</#if>
+</#list>
+            gen.writeEndObject();
+        }
+    }
+
+    public static final class Deserializer extends StdDeserializer<${table.className}> {
+
+        public Deserializer() {
+            super(${table.className}.class);
+        }
+
+        @Override
+        public ${table.className} deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            return deserialize(p, ctxt, new ${table.className}());
+        }
+
+        // also called by ObjectMapper.readerForUpdating (PATCH): only the properties present are set
+        @Override
+        public ${table.className} deserialize(JsonParser p, DeserializationContext ctxt, ${table.className} entity) throws IOException {
+            for (String name = JsonCodecs.firstFieldName(p, ctxt, ${table.className}.class); name != null; name = p.nextFieldName()) {
+                p.nextToken();
+                switch (name) {
+<#list fields as f>
+<#assign setter = "entity.set" + f.name?cap_first>
+<#if f.kind == "ignored">
+                    case "${f.name}" -> p.skipChildren(); // @JsonIgnore
+<#elseif f.kind == "string">
+                    case "${f.name}" -> ${setter}(JsonCodecs.readString(p, ctxt));
+<#elseif f.kind == "long">
+                    case "${f.name}" -> ${setter}(JsonCodecs.readLong(p, ctxt));
+<#elseif f.kind == "int">
+                    case "${f.name}" -> ${setter}(JsonCodecs.readInteger(p, ctxt));
+<#elseif f.kind == "double">
+                    case "${f.name}" -> ${setter}(JsonCodecs.readDouble(p, ctxt));
+<#elseif f.kind == "boolean">
+                    case "${f.name}" -> ${setter}(JsonCodecs.readBoolean(p, ctxt));
+<#elseif f.kind == "decimal">
+                    case "${f.name}" -> ${setter}(JsonCodecs.readDecimal(p, ctxt));
+<#elseif f.kind == "set">
+                    case "${f.name}" -> ${setter}(JsonCodecs.readSet(p, ctxt, ${f.type}.class));
+<#else>
+                    case "${f.name}" -> ${setter}(JsonCodecs.read(p, ctxt, ${f.type}.class));
+</#if>
+</#list>
+                    default -> ctxt.handleUnknownProperty(p, this, ${table.className}.class, name);
+                }
+            }
+            return entity;
+        }
+    }
+}
+<#macro write f indent>
+<#local getter = "value.get" + f.name?cap_first + "()">
+<#if f.kind == "string">
+${indent}gen.writeStringField("${f.name}", ${getter});
+<#elseif f.kind == "long" || f.kind == "int">
+${indent}JsonCodecs.writeInteger(gen, "${f.name}", ${getter});
+<#elseif f.kind == "double">
+${indent}JsonCodecs.writeDouble(gen, "${f.name}", ${getter});
+<#elseif f.kind == "boolean">
+${indent}JsonCodecs.writeBoolean(gen, "${f.name}", ${getter});
+<#elseif f.kind == "decimal">
+${indent}gen.writeNumberField("${f.name}", ${getter});
+<#elseif f.kind == "uuid">
+${indent}JsonCodecs.writeUuid(gen, "${f.name}", ${getter});
+<#else>
+${indent}provider.defaultSerializeField("${f.name}", ${getter}, gen);
+</#if>
+</#macro>
@@ -0,0 +1,100 @@
+<#-- src/main/resources/templates/json-codecs.java.ftl -->
+package ${packageName}.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Shared read/write steps of the generated entity codecs. Well-formed scalars take a direct parser or
+ * generator call; anything else (nulls aside) goes through Jackson's own deserializer for the type, so
+ * coercion rules and error messages stay those of the default mapping.
+ */
+public final class JsonCodecs {
+
+    private JsonCodecs() {
+    }
+
+    /** Name of the first property; the parser may stand on START_OBJECT or, when buffered, on the first FIELD_NAME. */
+    public static String firstFieldName(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        if (p.isExpectedStartObjectToken()) return p.nextFieldName();
+        if (p.hasToken(JsonToken.FIELD_NAME)) return p.currentName();
+        if (p.hasToken(JsonToken.END_OBJECT)) return null;
+        throw ctxt.wrongTokenException(p, type, JsonToken.START_OBJECT, "expected a JSON object");
+    }
+
+    public static void writeInteger(JsonGenerator gen, String name, Number value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.longValue());
+        }
+    }
+
+    public static void writeDouble(JsonGenerator gen, String name, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value);
+        }
+    }
+
+    public static void writeBoolean(JsonGenerator gen, String name, Boolean value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeBooleanField(name, value);
+        }
+    }
+
+    public static void writeUuid(JsonGenerator gen, String name, UUID value) throws IOException {
+        gen.writeStringField(name, value == null ? null : value.toString());
+    }
+
+    public static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_STRING) ? p.getText() : read(p, ctxt, String.class);
+    }
+
+    public static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getLongValue() : read(p, ctxt, Long.class);
+    }
+
+    public static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NUMBER_INT) ? p.getIntValue() : read(p, ctxt, Integer.class);
+    }
+
+    public static Double readDouble(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.currentToken() != null && p.currentToken().isNumeric() ? p.getDoubleValue() : read(p, ctxt, Double.class);
+    }
+
+    public static Boolean readBoolean(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.currentToken() != null && p.currentToken().isBoolean() ? p.getBooleanValue() : read(p, ctxt, Boolean.class);
+    }
+
+    public static BigDecimal readDecimal(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return p.currentToken() != null && p.currentToken().isNumeric() ? p.getDecimalValue() : read(p, ctxt, BigDecimal.class);
+    }
+
+    public static <T> T read(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        return p.hasToken(JsonToken.VALUE_NULL) ? null : ctxt.readValue(p, type);
+    }
+
+    public static <T> Set<T> readSet(JsonParser p, DeserializationContext ctxt, Class<T> type) throws IOException {
+        if (p.hasToken(JsonToken.VALUE_NULL)) return null;
+        if (!p.isExpectedStartArrayToken()) {
+            throw ctxt.wrongTokenException(p, Set.class, JsonToken.START_ARRAY, "expected a JSON array");
+        }
+        Set<T> values = new HashSet<>();
+        while (p.nextToken() != JsonToken.END_ARRAY) {
+            values.add(read(p, ctxt, type));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,20 @@
+<#-- src/main/resources/templates/keyset-page.java.ftl -->
+package ${packageName}.support;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (seek) pagination: rows in key order, {@code next} is the value to send as
+ * ?after= for the following page and null on the last one. Unlike offset pages, the cost of a page
+ * does not grow with its position.
+ */
+public record KeysetPage<T, K>(List<T> items, K next) {
+
+    /** {@code rows} were read with limit + 1, the extra row only tells that another page exists. */
+    public static <T, K> KeysetPage<T, K> of(List<T> rows, int limit, Function<T, K> key) {
+        if (rows.size() <= limit) return new KeysetPage<>(rows, null);
+        List<T> items = rows.subList(0, limit);
+        return new KeysetPage<>(items, key.apply(items.get(limit - 1)));
+    }
+}
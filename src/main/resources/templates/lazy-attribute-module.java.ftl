@@ -0,0 +1,58 @@
+<#-- src/main/resources/templates/lazy-attribute-module.java.ftl -->
+package ${packageName}.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import jakarta.persistence.Basic;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Leaves @Basic(fetch = LAZY) columns and owned collections that were not loaded out of the JSON, instead of fetching
+ * them row by row while a list is serialized (or failing once the session is closed, open-in-view is off).
+ * Single-row reads load them in the service, so GET /{id} still returns them.
+ */
+@Component
+public class LazyAttributeModule extends SimpleModule {
+
+    public LazyAttributeModule() {
+        super("LazyAttributeModule");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc,
+                                                             List<BeanPropertyWriter> properties) {
+                properties.replaceAll(writer -> {
+                    Basic basic = writer.getAnnotation(Basic.class);
+                    boolean lazy = basic != null && basic.fetch() == FetchType.LAZY
+                            || writer.getAnnotation(OneToMany.class) != null || writer.getAnnotation(ManyToMany.class) != null;
+                    return lazy ? new LoadedOnlyWriter(writer) : writer;
+                });
+                return properties;
+            }
+        });
+    }
+
+    private static final class LoadedOnlyWriter extends BeanPropertyWriter {
+
+        private LoadedOnlyWriter(BeanPropertyWriter base) {
+            super(base);
+        }
+
+        @Override
+        public void serializeAsField(Object bean, JsonGenerator gen, SerializerProvider prov) throws Exception {
+            if (Hibernate.isPropertyInitialized(bean, getName()) && Hibernate.isInitialized(get(bean))) {
+                super.serializeAsField(bean, gen, prov);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+<#-- src/main/resources/templates/load-test-runner.java.ftl -->
+package ${packageName}.loadtest;
+
+import ${packageName}.${appClassName};
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Starts the application on an embedded H2 database (profile "loadtest"), seeds it and
+ * drives every generated endpoint with the JDK HttpClient.
+ *
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:java \
+ *     -Dloadtest.concurrency=32 -Dloadtest.durationSeconds=30 -Dloadtest.rows=1000 \
+ *     -Dloadtest.mix=list=5,get=85,create=10,orders.get=200
+ * </pre>
+ *
+ * Mix weights apply per operation (list, get, create, patch, delete) or per endpoint ("resource.operation").
+ */
+public class LoadTestRunner {
+
+    private static final String DEFAULT_MIX = "list=5,get=85,create=10";
+
+    private static final ObjectMapper MAPPER = JsonMapper.builder().findAndAddModules().build();
+<#list seedTables as t>
+<#if t.creatable>
+
+    private static final Map<String, String> ${t.constName}_JSON_PATHS = Map.ofEntries(
+<#list t.columns?filter(c -> c.jsonPath??) as c>
+            Map.entry("${c.name}", "${c.jsonPath}")<#sep>,</#sep>
+</#list>
+    );
+</#if>
+</#list>
+
+    record Endpoint(String name, IntFunction<HttpRequest> request) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = Integer.getInteger("loadtest.concurrency", 16);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 5);
+        int durationSeconds = Integer.getInteger("loadtest.durationSeconds", 30);
+        int rows = Integer.getInteger("loadtest.rows", 1000);
+        Map<String, Integer> mix = parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX));
+
+        SpringApplication app = new SpringApplication(${appClassName}.class);
+        app.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext ctx = app.run("--server.port=0")) {
+            int port = ((WebServerApplicationContext) ctx).getWebServer().getPort();
+            SeedDataGenerator seed = new SeedDataGenerator(ctx.getBean(JdbcTemplate.class), rows);
+            long start = System.nanoTime();
+            seed.seed();
+            System.out.printf("Seeded %d rows per table in %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+
+            List<Endpoint> endpoints = endpoints("http://localhost:" + port, seed);
+            List<Endpoint> weighted = new ArrayList<>();
+            List<Integer> weights = new ArrayList<>();
+            for (Endpoint e : endpoints) {
+                String operation = e.name().substring(e.name().lastIndexOf('.') + 1);
+                int weight = mix.getOrDefault(e.name(), mix.getOrDefault(operation, 0));
+                if (weight > 0) {
+                    weighted.add(e);
+                    weights.add(weight);
+                }
+            }
+            if (weighted.isEmpty()) {
+                System.out.println("Request mix selects no endpoint: " + mix);
+                return;
+            }
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            run(client, weighted, weights, concurrency, warmupSeconds, null);
+            Map<String, List<Long>> latencies = new TreeMap<>();
+            Map<String, Integer> errors = new TreeMap<>();
+            run(client, weighted, weights, concurrency, durationSeconds, new Recorder(latencies, errors));
+            report(latencies, errors, durationSeconds, concurrency);
+        }
+    }
+
+    private static List<Endpoint> endpoints(String baseUrl, SeedDataGenerator seed) {
+        AtomicInteger sequence = new AtomicInteger(seed.getRowsPerTable());
+        List<Endpoint> endpoints = new ArrayList<>();
+<#list seedTables as t>
+<#if t.endpoint>
+        endpoints.add(new Endpoint("${t.path}.list", i -> get(baseUrl + "/api/${t.path}")));
+<#if t.pkColumn??>
+        endpoints.add(new Endpoint("${t.path}.get", i -> get(baseUrl + "/api/${t.path}/"
+                + seed.randomKey("${t.tableName}", "${t.pkColumn}"))));
+        endpoints.add(new Endpoint("${t.path}.delete", i -> HttpRequest.newBuilder(URI.create(baseUrl + "/api/${t.path}/"
+                + seed.randomKey("${t.tableName}", "${t.pkColumn}"))).DELETE().build()));
+</#if>
+<#if t.creatable>
+        endpoints.add(new Endpoint("${t.path}.create", i -> send("POST", baseUrl + "/api/${t.path}",
+                body(seed.${t.rowMethod}(sequence.getAndIncrement()), ${t.constName}_JSON_PATHS))));
+<#if t.patchable>
+        endpoints.add(new Endpoint("${t.path}.patch", i -> send("PATCH", baseUrl + "/api/${t.path}/"
+                + seed.randomKey("${t.tableName}", "${t.pkColumn}"),
+                body(seed.${t.rowMethod}(sequence.getAndIncrement()), ${t.constName}_JSON_PATHS))));
+</#if>
+</#if>
+</#if>
+</#list>
+        return endpoints;
+    }
+
+    private static void run(HttpClient client, List<Endpoint> endpoints, List<Integer> weights,
+                            int concurrency, int seconds, Recorder recorder) throws InterruptedException {
+        int[] cumulative = new int[weights.size()];
+        int total = 0;
+        for (int i = 0; i < weights.size(); i++) {
+            total += weights.get(i);
+            cumulative[i] = total;
+        }
+        int totalWeight = total;
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                workers.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        int pick = Arrays.binarySearch(cumulative, random.nextInt(totalWeight) + 1);
+                        Endpoint endpoint = endpoints.get(pick >= 0 ? pick : -pick - 1);
+                        long begin = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(endpoint.request().apply(n++), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        if (recorder != null) recorder.record(endpoint.name(), System.nanoTime() - begin, status);
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static void report(Map<String, List<Long>> latencies, Map<String, Integer> errors, int seconds, int concurrency) {
+        System.out.printf("%n%-32s %9s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        long all = 0;
+        for (Map.Entry<String, List<Long>> entry : latencies.entrySet()) {
+            long[] sorted = entry.getValue().stream().mapToLong(Long::longValue).sorted().toArray();
+            all += sorted.length;
+            System.out.printf("%-32s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    entry.getKey(), sorted.length, errors.getOrDefault(entry.getKey(), 0),
+                    sorted.length / (double) seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    sorted[sorted.length - 1] / 1_000_000.0);
+        }
+        System.out.printf("%nTotal: %d requests in %d s with %d workers (%.1f req/s)%n",
+                all, seconds, concurrency, all / (double) seconds);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("[=:]");
+            if (parts.length == 2) weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).GET().build();
+    }
+
+    private static HttpRequest send(String method, String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .header("If-Match", "*")
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    /** Turns a seed row (column -> value) into a request body, nesting dotted paths such as "user.id". */
+    @SuppressWarnings("unchecked")
+    private static String body(Map<String, Object> row, Map<String, String> jsonPaths) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        row.forEach((column, value) -> {
+            String path = jsonPaths.get(column);
+            if (path == null || value == null) return;
+            String[] segments = path.split("\\.");
+            Map<String, Object> node = json;
+            for (int i = 0; i < segments.length - 1; i++) {
+                node = (Map<String, Object>) node.computeIfAbsent(segments[i], k -> new LinkedHashMap<String, Object>());
+            }
+            node.put(segments[segments.length - 1], value);
+        });
+        try {
+            return MAPPER.writeValueAsString(json);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Recorder(Map<String, List<Long>> latencies, Map<String, Integer> errors) {
+        synchronized void record(String endpoint, long nanos, int status) {
+            latencies.computeIfAbsent(endpoint, k -> new ArrayList<>()).add(nanos);
+            if (status < 200 || status >= 400) errors.merge(endpoint, 1, Integer::sum);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+<#-- src/main/resources/templates/observability-config.java.ftl -->
+package ${packageName}.observability;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ObservabilityConfig {
+
+    // Enables @Timed on the generated services (one timer per entity, tagged by method)
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
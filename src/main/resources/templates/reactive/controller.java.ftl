@@ -0,0 +1,59 @@
+<#-- src/main/resources/templates/reactive/controller.java.ftl -->
+package ${packageName}.controller;
+
+import ${packageName}.entity.${table.className};
+import ${packageName}.service.${table.className}Service;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.*;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+@RestController
+@RequestMapping("/api/${table.endpointPath}")
+@RequiredArgsConstructor
+public class ${table.className}Controller {
+
+    private final ${table.className}Service service;
+
+    // Accept: application/x-ndjson streams rows to the client as the database returns them
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<${table.className}> getAll() {
+        return service.findAll();
+    }
+
+    @GetMapping("/{id}")
+    public Mono<${table.className}> getById(@PathVariable ${pkType} id) {
+        return service.findById(id);
+    }
+<#list finders as f>
+
+    @GetMapping(value = "/${f.path}/{${f.name}}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<${table.className}> ${f.method}(@PathVariable ${f.type} ${f.name}) {
+        return service.${f.method}(${f.name});
+    }
+</#list>
+
+    @PostMapping
+    public Mono<${table.className}> create(@RequestBody ${table.className} entity) {
+        return service.create(entity);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<${table.className}> update(@PathVariable ${pkType} id, @RequestBody ${table.className} entity) {
+        return service.update(id, entity);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<Void> delete(@PathVariable ${pkType} id) {
+        return service.deleteById(id);
+    }
+}
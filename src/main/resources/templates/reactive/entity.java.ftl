@@ -0,0 +1,47 @@
+<#-- src/main/resources/templates/reactive/entity.java.ftl -->
+package ${packageName}.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+<#if fields?filter(f -> f.createdAt)?has_content>
+import org.springframework.data.annotation.CreatedDate;
+</#if>
+<#if fields?filter(f -> f.updatedAt)?has_content>
+import org.springframework.data.annotation.LastModifiedDate;
+</#if>
+<#if fields?filter(f -> f.version)?has_content>
+import org.springframework.data.annotation.Version;
+</#if>
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.*;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+<#-- R2DBC maps single rows only: associations become their foreign key value -->
+@Table("${table.tableName}")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ${table.className} {
+<#list fields as f>
+
+<#if f.id>
+    @Id
+<#elseif f.version>
+    @Version
+<#elseif f.createdAt>
+    @CreatedDate
+<#elseif f.updatedAt>
+    @LastModifiedDate
+</#if>
+<#if f.foreignKey>
+    // ${f.relationship} ${f.relationshipField} -> ${f.referencedTable}.${f.referencedColumn}
+</#if>
+    @Column("${f.column}")
+    private ${f.type} ${f.name};
+</#list>
+}
@@ -0,0 +1,52 @@
+<#-- src/main/resources/templates/reactive/repository.java.ftl -->
+package ${packageName}.repository;
+
+import ${packageName}.entity.${table.className};
+<#if softDeleteColumn??>
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+</#if>
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+<#if softDeleteColumn??>
+import reactor.core.publisher.Mono;
+</#if>
+
+import java.time.*;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+@Repository
+public interface ${table.className}Repository extends R2dbcRepository<${table.className}, ${pkType}> {
+<#if softDeleteColumn??>
+
+    // soft-deleted rows are hidden from every read
+    @Override
+    @Query("SELECT * FROM ${table.tableName} WHERE ${softDeleteColumn} IS NULL")
+    Flux<${table.className}> findAll();
+
+    @Override
+    @Query("SELECT * FROM ${table.tableName} WHERE ${pkColumn} = :id AND ${softDeleteColumn} IS NULL")
+    Mono<${table.className}> findById(${pkType} id);
+</#if>
+<#list finders as f>
+
+    // replaces the ${f.relationshipField} association: children of one parent, streamed
+<#if softDeleteColumn??>
+    @Query("SELECT * FROM ${table.tableName} WHERE ${f.column} = :${f.name} AND ${softDeleteColumn} IS NULL")
+</#if>
+    Flux<${table.className}> ${f.method}(${f.type} ${f.name});
+</#list>
+<#if softDeleteColumn??>
+
+    // rows already deleted keep their first timestamp
+    @Modifying
+    @Query("UPDATE ${table.tableName} SET ${softDeleteColumn} = CURRENT_TIMESTAMP WHERE ${pkColumn} = :id AND ${softDeleteColumn} IS NULL")
+    Mono<Integer> softDeleteById(${pkType} id);
+</#if>
+}
@@ -0,0 +1,86 @@
+<#-- src/main/resources/templates/reactive/service.java.ftl -->
+package ${packageName}.service;
+
+import ${packageName}.entity.${table.className};
+import ${packageName}.repository.${table.className}Repository;
+import lombok.RequiredArgsConstructor;
+<#if fields?filter(f -> f.version)?has_content>
+import org.springframework.dao.OptimisticLockingFailureException;
+</#if>
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.*;
+<#if hasBigDecimal>
+import java.math.BigDecimal;
+</#if>
+<#if hasUUID>
+import java.util.UUID;
+</#if>
+
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ${table.className}Service {
+
+    private final ${table.className}Repository repository;
+    private final R2dbcEntityTemplate template;
+
+    @Transactional(readOnly = true)
+    public Flux<${table.className}> findAll() {
+        return repository.findAll();
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<${table.className}> findById(${pkType} id) {
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+<#list finders as f>
+
+    @Transactional(readOnly = true)
+    public Flux<${table.className}> ${f.method}(${f.type} ${f.name}) {
+        return repository.${f.method}(${f.name});
+    }
+</#list>
+
+    // always an INSERT, save() would issue an UPDATE when the client supplies the key
+    public Mono<${table.className}> create(${table.className} entity) {
+        return template.insert(entity);
+    }
+
+    // template.update() always issues an UPDATE; save() would INSERT a versioned body without a version
+    public Mono<${table.className}> update(${pkType} id, ${table.className} entity) {
+        entity.set${pkField?cap_first}(id);
+        return repository.findById(id)
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                .flatMap(current -> {
+<#list fields?filter(f -> f.version) as v>
+                    if (entity.get${v.name?cap_first}() == null) {
+                        return Mono.error(new ResponseStatusException(HttpStatus.PRECONDITION_REQUIRED,
+                                "${v.name} is required to update ${table.className}"));
+                    }
+</#list>
+<#list fields?filter(f -> f.createdAt) as c>
+                    entity.set${c.name?cap_first}(current.get${c.name?cap_first}());
+</#list>
+                    return template.update(entity);
+                })<#if fields?filter(f -> f.version)?has_content>
+                // the row changed since the client read it
+                .onErrorMap(OptimisticLockingFailureException.class,
+                        e -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage(), e))</#if>;
+    }
+
+    public Mono<Void> deleteById(${pkType} id) {
+<#if softDeleteColumn??>
+        return repository.softDeleteById(id).then();
+<#else>
+        return repository.deleteById(id);
+</#if>
+    }
+}
@@ -0,0 +1,72 @@
+<#-- src/main/resources/templates/read-replica-routing-test.java.ftl -->
+package ${packageName}.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Primary and replica are two separate in-memory H2 databases here, each holding a probe row
+ * that names it, so the answer shows which pool served the transaction.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=",
+        "app.datasource.replica.read-only=false",
+        "app.datasource.replica-retry=1h"
+})
+@ActiveProfiles("loadtest")
+@DirtiesContext
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replica;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndFallBackToThePrimary() {
+        createProbe(primary, "primary");
+        createProbe(replica, "replica");
+
+        assertEquals("replica", probe(true));
+        assertEquals("primary", probe(false));
+
+        replica.close();
+        assertEquals("primary", probe(true));
+    }
+
+    private void createProbe(DataSource target, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(target);
+        jdbc.execute("CREATE TABLE routing_probe (source VARCHAR(16))");
+        jdbc.update("INSERT INTO routing_probe (source) VALUES (?)", name);
+    }
+
+    private String probe(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(dataSource)
+                .queryForObject("SELECT source FROM routing_probe", String.class));
+    }
+}
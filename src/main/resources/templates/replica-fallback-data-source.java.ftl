@@ -0,0 +1,64 @@
+<#-- src/main/resources/templates/replica-fallback-data-source.java.ftl -->
+package ${packageName}.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Connections for read-only transactions: from the replica, or from the primary while the replica
+ * cannot hand one out. After a failure the replica is skipped for {@code retryAfter}, so requests
+ * do not each wait for the replica pool's connection timeout.
+ */
+public class ReplicaFallbackDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaFallbackDataSource.class);
+
+    private final DataSource replica;
+    private final DataSource primary;
+    private final long retryAfterNanos;
+    private volatile boolean replicaDown;
+    private volatile long replicaDownSince;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary, Duration retryAfter) {
+        this.replica = replica;
+        this.primary = primary;
+        this.retryAfterNanos = retryAfter.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(null, null);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(username, password);
+    }
+
+    private Connection connection(String username, String password) throws SQLException {
+        if (!replicaDown || System.nanoTime() - replicaDownSince > retryAfterNanos) {
+            try {
+                Connection connection = username == null
+                        ? replica.getConnection() : replica.getConnection(username, password);
+                if (replicaDown) {
+                    replicaDown = false;
+                    log.info("Replica is reachable again, read-only transactions use it");
+                }
+                return connection;
+            } catch (SQLException e) {
+                if (!replicaDown) {
+                    log.warn("Replica unavailable, read-only transactions fall back to the primary: {}", e.getMessage());
+                }
+                replicaDownSince = System.nanoTime();
+                replicaDown = true;
+            }
+        }
+        return username == null ? primary.getConnection() : primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,15 @@
+<#-- src/main/resources/templates/repository-custom.java.ftl -->
+package ${packageName}.repository;
+
+import ${packageName}.entity.${table.className};
+
+import java.util.List;
+
+public interface ${table.className}RepositoryCustom {
+
+    // Insert or update on conflict of (${table.upsertKey?join(", ")}) in a single statement
+    int upsert(${table.className} entity);
+
+    // All rows in one JDBC batch
+    int upsertAll(List<${table.className}> entities);
+}
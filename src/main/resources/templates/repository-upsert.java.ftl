@@ -0,0 +1,117 @@
+<#-- src/main/resources/templates/repository-upsert.java.ftl -->
+package ${packageName}.repository;
+
+import ${packageName}.entity.${table.className};
+<#if upsertJson>
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+</#if>
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+<#if versioned>
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+</#if>
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Native upserts keyed on (${table.upsertKey?join(", ")}), one round trip each: INSERT ... ON CONFLICT on PostgreSQL,
+ * ON DUPLICATE KEY UPDATE on MySQL/MariaDB and standard MERGE elsewhere (H2, SQL Server, ...).
+<#if versioned>
+ * An existing row is only replaced when the body carries its current ${table.versionField}, as with If-Match on PUT;
+ * otherwise nothing is written and ObjectOptimisticLockingFailureException is thrown (412).
+</#if>
+ */
+public class ${table.className}RepositoryCustomImpl implements ${table.className}RepositoryCustom {
+
+    private static final String POSTGRES_SQL =
+            "${postgresSql}";
+    private static final String MYSQL_SQL =
+            "${mysqlSql}";
+    private static final String MERGE_SQL =
+            "${mergeSql}";
+
+    private final NamedParameterJdbcTemplate jdbc;
+<#if upsertJson>
+    private final ObjectMapper objectMapper;
+</#if>
+    private volatile String sql;
+
+<#if upsertJson>
+    public ${table.className}RepositoryCustomImpl(NamedParameterJdbcTemplate jdbc, ObjectMapper objectMapper) {
+        this.jdbc = jdbc;
+        this.objectMapper = objectMapper;
+    }
+<#else>
+    public ${table.className}RepositoryCustomImpl(NamedParameterJdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+</#if>
+
+    @Override
+    public int upsert(${table.className} entity) {
+<#if versioned>
+        int updated = jdbc.update(sql(), parameters(entity));
+        if (updated == 0) throw versionConflict();
+        return updated;
+<#else>
+        return jdbc.update(sql(), parameters(entity));
+</#if>
+    }
+
+    @Override
+    public int upsertAll(List<${table.className}> entities) {
+        if (entities.isEmpty()) return 0;
+        SqlParameterSource[] batch = entities.stream().map(this::parameters).toArray(SqlParameterSource[]::new);
+        int[] counts = jdbc.batchUpdate(sql(), batch);
+<#if versioned>
+        // a stale version leaves its row untouched; the caller's transaction rolls the rest of the batch back
+        if (Arrays.stream(counts).anyMatch(n -> n == 0)) throw versionConflict();
+</#if>
+        // drivers may answer SUCCESS_NO_INFO (-2) for batched statements
+        return Arrays.stream(counts).map(n -> n < 0 ? 1 : n).sum();
+    }
+<#if versioned>
+
+    private ObjectOptimisticLockingFailureException versionConflict() {
+        return new ObjectOptimisticLockingFailureException(
+                "${table.className} was not upserted: ${table.versionField} does not match the stored row", null);
+    }
+</#if>
+
+    private SqlParameterSource parameters(${table.className} e) {
+        return new MapSqlParameterSource()<#if !upsertParams?has_content>;</#if>
+<#list upsertParams as p>
+                .addValue("${p.name}", ${p.expr})<#if !p?has_next>;</#if>
+</#list>
+    }
+
+<#if upsertJson>
+    private String json(Object value) {
+        if (value == null) return null;
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot write JSON column value", e);
+        }
+    }
+
+</#if>
+    private String sql() {
+        String resolved = sql;
+        if (resolved == null) {
+            String product = jdbc.getJdbcTemplate().execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            resolved = switch (product == null ? "" : product.toLowerCase()) {
+                case "postgresql" -> POSTGRES_SQL;
+                case "mysql", "mariadb" -> MYSQL_SQL;
+                default -> MERGE_SQL;
+            };
+            sql = resolved;
+        }
+        return resolved;
+    }
+}
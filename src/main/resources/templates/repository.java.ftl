@@ -6,20 +6,74 @@ import ${packageName}.entity.${table.className};
 <#if pkType?matches(".*Id$")>
     import ${packageName}.entity.${pkType};
 </#if>
+<#if table.childFinders?has_content>
+import org.springframework.data.domain.Limit;
+</#if>
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
-<#if hasSoftDelete>
-    import org.springframework.data.jpa.repository.Modifying;
-    import org.springframework.data.jpa.repository.Query;
+import java.util.Collection;
+<#if table.childFinders?has_content>
+import java.util.List;
+</#if>
+import java.util.stream.Stream;
+<#if versionType??>
+    import java.util.Optional;
 </#if>
 
 // use pkType passed in from generator
 @Repository
-public interface ${table.className}Repository extends JpaRepository<${table.className}, ${pkType}> {
+public interface ${table.className}Repository extends JpaRepository<${table.className}, ${pkType}>, JpaSpecificationExecutor<${table.className}><#if table.upsertKey?has_content>, ${table.className}RepositoryCustom</#if> {
+
+    // Single-statement deletes: unlike deleteById they do not load the entity first
+    @Modifying
+    @Query("DELETE FROM ${table.className} e WHERE e.${pkFieldName} = :id")
+    int hardDeleteById(@Param("id") ${pkType} id);
+
+    @Modifying
+    @Query("DELETE FROM ${table.className} e WHERE e.${pkFieldName} IN :ids")
+    int hardDeleteAllById(@Param("ids") Collection<${pkType}> ids);
 <#if hasSoftDelete>
+
+    // rows already deleted keep their first timestamp
     @Modifying
-    @Query("UPDATE ${table.className} e SET e.deletedAt = CURRENT_TIMESTAMP WHERE e.id = :id")
-    void softDeleteById(${pkType} id);
+    @Query("UPDATE ${table.className} e SET e.${table.softDeleteField} = CURRENT_TIMESTAMP WHERE e.${pkFieldName} = :id AND e.${table.softDeleteField} IS NULL")
+    int softDeleteById(@Param("id") ${pkType} id);
+
+    @Modifying
+    @Query("UPDATE ${table.className} e SET e.${table.softDeleteField} = CURRENT_TIMESTAMP WHERE e.${pkFieldName} IN :ids AND e.${table.softDeleteField} IS NULL")
+    int softDeleteAllById(@Param("ids") Collection<${pkType}> ids);
 </#if>
-}
\ No newline at end of file
+
+    // Export projection: scalar rows (Object[], or the bare value for a single column) are never managed,
+    // so the persistence context stays empty however many rows are streamed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT <#list exportColumns as path>e.${path}<#sep>, </#sep></#list> FROM ${table.className} e")
+    Stream<Object> streamExportRows();
+<#if versionType??>
+
+    // Version-only lookup used for If-None-Match / If-Match checks, avoids loading the full row
+    @Query("SELECT e.${table.versionField} FROM ${table.className} e WHERE e.${pkFieldName} = :id")
+    Optional<${versionType}> findVersionById(@Param("id") ${pkType} id);
+</#if>
+<#list table.childFinders as f>
+<#assign by = f.relationshipField?cap_first + "_" + f.parentPkField?cap_first>
+<#assign order = "OrderBy" + f.childPkField?cap_first + "Asc">
+
+    // Keyset pages of the children of one ${f.relationshipField}: a range scan of the (${f.fkColumn}, key) index
+    List<${table.className}> findBy${by}${order}(${f.parentPkType} ${f.relationshipField}Id, Limit limit);
+
+    List<${table.className}> findBy${by}And${f.childPkField?cap_first}GreaterThan${order}(${f.parentPkType} ${f.relationshipField}Id,
+            ${f.childPkType} after, Limit limit);
+</#list>
+}
@@ -0,0 +1,78 @@
+<#-- src/main/resources/templates/row-export.java.ftl -->
+package ${packageName}.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes projected rows (Object[] in column order) as NDJSON or CSV while the stream is consumed,
+ * flushing every {@value #FLUSH_EVERY} rows so memory stays constant regardless of table size.
+ */
+public final class RowExport {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private RowExport() {
+    }
+
+    public static void ndjson(Stream<?> rows, List<String> columns, OutputStream out, ObjectMapper mapper) throws IOException {
+        JsonGenerator gen = mapper.getFactory().createGenerator(out);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        gen.setRootValueSeparator(null);
+        int count = 0;
+        for (Iterator<?> it = rows.iterator(); it.hasNext(); ) {
+            Object[] row = toArray(it.next());
+            gen.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                gen.writeFieldName(columns.get(i));
+                gen.writeObject(row[i]);
+            }
+            gen.writeEndObject();
+            gen.writeRaw('\n');
+            if (++count % FLUSH_EVERY == 0) gen.flush();
+        }
+        gen.close();
+    }
+
+    public static void csv(Stream<?> rows, List<String> columns, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(String.join(",", columns.stream().map(RowExport::csvCell).toList()));
+        writer.write("\r\n");
+        int count = 0;
+        for (Iterator<?> it = rows.iterator(); it.hasNext(); ) {
+            Object[] row = toArray(it.next());
+            for (int i = 0; i < row.length; i++) {
+                if (i > 0) writer.write(',');
+                writer.write(csvCell(row[i]));
+            }
+            writer.write("\r\n");
+            if (++count % FLUSH_EVERY == 0) writer.flush();
+        }
+        writer.flush();
+    }
+
+    // single-column projections come back as the bare value rather than Object[]
+    private static Object[] toArray(Object row) {
+        return row instanceof Object[] values ? values : new Object[]{row};
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) return "";
+        String text = value instanceof byte[] bytes ? Base64.getEncoder().encodeToString(bytes) : value.toString();
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,211 @@
+<#-- src/main/resources/templates/row-import.java.ftl -->
+package ${packageName}.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Reads NDJSON or CSV request bodies one row at a time and hands them to a batch writer.
+ * Dotted keys ("user.id") become nested objects, so files produced by {@link RowExport} import unchanged.
+ * A failing batch is retried row by row so one bad row only rejects itself.
+ */
+public final class RowImport {
+
+    private static final int MAX_ERRORS = 100;
+
+    private RowImport() {
+    }
+
+    public record ImportResult(long accepted, long rejected, List<String> errors) {
+    }
+
+    @FunctionalInterface
+    public interface RowConverter<T> {
+        T convert(ObjectNode row) throws IOException;
+    }
+
+    public static Iterator<ObjectNode> ndjson(InputStream in, ObjectMapper mapper) throws IOException {
+        Iterator<ObjectNode> rows = mapper.readerFor(ObjectNode.class).readValues(in);
+        return new Iterator<>() {
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            public ObjectNode next() {
+                return unflatten(rows.next(), mapper);
+            }
+        };
+    }
+
+    public static Iterator<ObjectNode> csv(InputStream in, ObjectMapper mapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = readRecord(reader);
+        if (header == null) return List.<ObjectNode>of().iterator();
+        return new Iterator<>() {
+            private List<String> record = read();
+
+            public boolean hasNext() {
+                return record != null;
+            }
+
+            public ObjectNode next() {
+                if (record == null) throw new NoSuchElementException();
+                ObjectNode row = mapper.createObjectNode();
+                for (int i = 0; i < header.size() && i < record.size(); i++) {
+                    // empty cells are left out so nullable columns stay null
+                    if (!record.get(i).isEmpty()) row.put(header.get(i), record.get(i));
+                }
+                record = read();
+                return unflatten(row, mapper);
+            }
+
+            private List<String> read() {
+                try {
+                    return readRecord(reader);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    public static <T> ImportResult run(Iterator<ObjectNode> rows, int batchSize,
+                                       RowConverter<T> converter, Consumer<List<T>> batchWriter) {
+        Counts counts = new Counts();
+        List<PendingRow> pending = new ArrayList<>(batchSize);
+        List<T> batch = new ArrayList<>(batchSize);
+        long rowNumber = 0;
+
+        while (true) {
+            ObjectNode row;
+            try {
+                if (!rows.hasNext()) break;
+                row = rows.next();
+            } catch (RuntimeException e) {
+                // the input itself is malformed, nothing after this point can be trusted
+                counts.reject(rowNumber + 1, "unreadable input, import stopped: " + rootMessage(e));
+                break;
+            }
+            rowNumber++;
+            try {
+                batch.add(converter.convert(row));
+                pending.add(new PendingRow(rowNumber, row));
+            } catch (IOException | RuntimeException e) {
+                counts.reject(rowNumber, rootMessage(e));
+            }
+            if (batch.size() == batchSize) flush(pending, batch, converter, batchWriter, counts);
+        }
+        if (!batch.isEmpty()) flush(pending, batch, converter, batchWriter, counts);
+        return new ImportResult(counts.accepted, counts.rejected, counts.errors);
+    }
+
+    private static <T> void flush(List<PendingRow> pending, List<T> batch, RowConverter<T> converter,
+                                  Consumer<List<T>> batchWriter, Counts counts) {
+        try {
+            batchWriter.accept(batch);
+            counts.accepted += batch.size();
+        } catch (RuntimeException batchFailure) {
+            // entities of the rolled back batch may carry generated ids, so retry from the source rows
+            for (PendingRow row : pending) {
+                try {
+                    batchWriter.accept(List.of(converter.convert(row.json())));
+                    counts.accepted++;
+                } catch (IOException | RuntimeException e) {
+                    counts.reject(row.number(), rootMessage(e));
+                }
+            }
+        }
+        pending.clear();
+        batch.clear();
+    }
+
+    private record PendingRow(long number, ObjectNode json) {
+    }
+
+    private static final class Counts {
+        private long accepted;
+        private long rejected;
+        private final List<String> errors = new ArrayList<>();
+
+        void reject(long row, String message) {
+            rejected++;
+            if (errors.size() < MAX_ERRORS) errors.add("row " + row + ": " + message);
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        return root.getMessage();
+    }
+
+    private static ObjectNode unflatten(ObjectNode flat, ObjectMapper mapper) {
+        ObjectNode result = mapper.createObjectNode();
+        for (Iterator<Map.Entry<String, JsonNode>> it = flat.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = it.next();
+            String[] segments = field.getKey().split("\\.");
+            ObjectNode node = result;
+            for (int i = 0; i < segments.length - 1; i++) {
+                node = node.get(segments[i]) instanceof ObjectNode child ? child : node.putObject(segments[i]);
+            }
+            node.set(segments[segments.length - 1], field.getValue());
+        }
+        return result;
+    }
+
+    // RFC 4180: quoted cells may contain commas, doubled quotes and line breaks
+    private static List<String> readRecord(BufferedReader reader) throws IOException {
+        String line = reader.readLine();
+        while (line != null && line.isEmpty()) line = reader.readLine();
+        if (line == null) return null;
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        int i = 0;
+        while (true) {
+            if (i == line.length()) {
+                if (!quoted) break;
+                String next = reader.readLine();
+                if (next == null) break;
+                cell.append('\n');
+                line = next;
+                i = 0;
+                continue;
+            }
+            char ch = line.charAt(i++);
+            if (quoted) {
+                if (ch == '"' && i < line.length() && line.charAt(i) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (ch == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(ch);
+                }
+            } else if (ch == '"') {
+                quoted = true;
+            } else if (ch == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(ch);
+            }
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+}
@@ -0,0 +1,97 @@
+<#-- src/main/resources/templates/seed-data-generator.java.ftl -->
+package ${packageName}.loadtest;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * Bulk-inserts synthetic rows in foreign-key dependency order (parents before children).
+ * Keys of tables that are already seeded are read back, so FK values always resolve.
+ */
+public class SeedDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final int rowsPerTable;
+    private final Random random = new Random(42);
+    private final Map<String, List<Object>> keyCache = new ConcurrentHashMap<>();
+
+    public SeedDataGenerator(JdbcTemplate jdbc, int rowsPerTable) {
+        this.jdbc = jdbc;
+        this.rowsPerTable = rowsPerTable;
+    }
+
+    public int getRowsPerTable() {
+        return rowsPerTable;
+    }
+
+    public void seed() {
+<#list seedTables as t>
+        insert("${t.tableName}", ${t.rowsExpr}, this::${t.rowMethod});
+</#list>
+    }
+<#list seedTables as t>
+
+    public Map<String, Object> ${t.rowMethod}(int i) {
+        Map<String, Object> row = new LinkedHashMap<>();
+<#list t.columns as c>
+        row.put("${c.name}", ${c.expr});
+</#list>
+        return row;
+    }
+</#list>
+
+    /** Values of {@code column} in an already seeded table. */
+    public List<Object> keys(String table, String column) {
+        return keyCache.computeIfAbsent(table + "." + column,
+                k -> jdbc.queryForList("SELECT " + column + " FROM " + table, Object.class));
+    }
+
+    public Object randomKey(String table, String column) {
+        List<Object> keys = keys(table, column);
+        return keys.isEmpty() ? null : keys.get(random.nextInt(keys.size()));
+    }
+
+    public Object keyAt(String table, String column, int index) {
+        List<Object> keys = keys(table, column);
+        return keys.isEmpty() ? null : keys.get(index % keys.size());
+    }
+
+    private void insert(String table, int rows, IntFunction<Map<String, Object>> rowFactory) {
+        if (rows <= 0) return;
+        Map<String, Object> first = rowFactory.apply(0);
+        if (first.isEmpty()) return;
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", first.keySet()) + ") VALUES ("
+                + String.join(", ", Collections.nCopies(first.size(), "?")) + ")";
+
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        batch.add(first.values().toArray());
+        for (int i = 1; i < rows; i++) {
+            batch.add(rowFactory.apply(i).values().toArray());
+            if (batch.size() == BATCH_SIZE) {
+                jdbc.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) jdbc.batchUpdate(sql, batch);
+        keyCache.keySet().removeIf(k -> k.startsWith(table + "."));
+    }
+
+    private String text(String prefix, int i, int maxLength) {
+        String value = prefix + i;
+        // keep the numeric suffix so unique columns stay unique after truncation
+        return value.length() > maxLength ? value.substring(value.length() - maxLength) : value;
+    }
+
+    private byte[] bytes(int length) {
+        byte[] data = new byte[length];
+        random.nextBytes(data);
+        return data;
+    }
+}
@@ -3,16 +3,60 @@
 package ${packageName}.service;
 
 import ${packageName}.entity.${table.className};
+<#list importTargets as target>
+import ${packageName}.entity.${target};
+</#list>
 <#-- import composite Id if pkType is Id class -->
 <#if pkType?matches(".*Id$")>
     import ${packageName}.entity.${pkType};
 </#if>
 import ${packageName}.repository.${table.className}Repository;
+import ${packageName}.support.FilterSpecifications;
+import ${packageName}.support.FilterSpecifications.FilterField;
+import ${packageName}.support.RowExport;
+import ${packageName}.support.RowImport;
+import ${packageName}.support.RowImport.ImportResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+<#if options.observability>
+import io.micrometer.core.annotation.Timed;
+</#if>
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+<#if versionType??>
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+</#if>
+<#if table.childFinders?has_content>
+import org.springframework.data.domain.Limit;
+</#if>
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+<#list filterImports as imp>
+import ${imp};
+</#list>
+<#if versionType??>
+    import java.util.Optional;
+</#if>
 
 // pkType and pkFieldName are passed from generator
 <#-- pkType = "OrderItemsId" or "Long" etc. -->
@@ -21,23 +65,150 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 @Transactional
+<#if options.observability>
+@Timed(value = "crud.service", extraTags = {"entity", "${table.className}"}, histogram = true)
+</#if>
 public class ${table.className}Service {
 
+// Filterable fields: indexed columns only (PK, FK, unique, override "indexed")
+private static final Map<String, FilterField> FILTERS = Map.ofEntries(
+<#list filterFields as f>
+        Map.entry("${f.param}", new FilterField(${f.type}.class, <#list f.path as segment>"${segment}"<#sep>, </#sep></#list>))<#sep>,</#sep>
+</#list>
+);
+
+// Export header, one dotted attribute path per column
+private static final List<String> EXPORT_COLUMNS = List.of(<#list exportColumns as path>"${path}"<#sep>, </#sep></#list>);
+
 private final ${table.className}Repository repository;
+private final ObjectMapper objectMapper;
+private final EntityManager entityManager;
+private final TransactionTemplate transactionTemplate;
+
+@Value("${r"${app.import.batch-size:500}"}")
+private int importBatchSize;
 
+@Transactional(readOnly = true)
 public List<${table.className}> findAll() {
 return repository.findAll();
 }
 
+<#list table.childFinders as f>
+/**
+ * Children of one ${f.relationshipField} with a key greater than {@code after} (null = first page), in key order.
+ */
+@Transactional(readOnly = true)
+public List<${table.className}> findPageBy${f.relationshipField?cap_first}(${f.parentPkType} ${f.relationshipField}Id, ${f.childPkType} after, int limit) {
+<#assign by = f.relationshipField?cap_first + "_" + f.parentPkField?cap_first>
+<#assign order = "OrderBy" + f.childPkField?cap_first + "Asc">
+return after == null
+        ? repository.findBy${by}${order}(${f.relationshipField}Id, Limit.of(limit))
+        : repository.findBy${by}And${f.childPkField?cap_first}GreaterThan${order}(${f.relationshipField}Id, after, Limit.of(limit));
+}
+
+</#list>
+@Transactional(readOnly = true)
+public Page<${table.className}> search(MultiValueMap<String, String> params, Pageable pageable) {
+Pageable checked = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+        FilterSpecifications.checkSort(pageable.getSort(), FILTERS));
+return repository.findAll(FilterSpecifications.<${table.className}>build(params, FILTERS), checked);
+}
+
+/**
+ * Streams every row as NDJSON or CSV; the open cursor is read with a JDBC fetch size,
+ * so memory use does not depend on the table size.
+ */
+@Transactional(readOnly = true)
+public void export(OutputStream out, boolean csv) throws IOException {
+try (Stream<Object> rows = repository.streamExportRows()) {
+    if (csv) {
+        RowExport.csv(rows, EXPORT_COLUMNS, out);
+    } else {
+        RowExport.ndjson(rows, EXPORT_COLUMNS, out, objectMapper);
+    }
+}
+}
+
+/**
+ * Persists rows in batches of {@code batchSize} (app.import.batch-size by default), each batch in its own
+ * transaction followed by flush() and clear(), so the persistence context never holds more than one batch.
+ */
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public ImportResult importRows(InputStream in, boolean csv, Integer batchSize) throws IOException {
+Iterator<ObjectNode> rows = csv ? RowImport.csv(in, objectMapper) : RowImport.ndjson(in, objectMapper);
+return RowImport.run(rows, batchSize != null && batchSize > 0 ? batchSize : importBatchSize,
+        this::toImportedEntity, this::persistBatch);
+}
+
+private ${table.className} toImportedEntity(ObjectNode row) throws IOException {
+<#if !pkType?matches(".*Id$")>
+// the database assigns the key
+row.remove("${pkFieldName}");
+</#if>
+${table.className} entity = objectMapper.treeToValue(row, ${table.className}.class);
+<#list importReferences as ref>
+if (${ref.guard}) {
+    entity.${ref.setter}(entityManager.getReference(${ref.targetClass}.class, ${ref.value}));
+}
+</#list>
+return entity;
+}
+
+private void persistBatch(List<${table.className}> batch) {
+transactionTemplate.executeWithoutResult(status -> {
+    try {
+        batch.forEach(entityManager::persist);
+        entityManager.flush();
+    } finally {
+        entityManager.clear();
+    }
+});
+}
+
+@Transactional(readOnly = true)
 public ${table.className} findById(${pkType} id) {
-return repository.findById(id).orElseThrow();
+<#assign lazyColumns = table.columns?filter(c -> c.isLazy())>
+<#assign ownedCollections = table.relationships?filter(r -> (r.relationshipType!"")?matches("(?i)OneToMany|ManyToMany") && !(r.mappedBy!"")?has_content)>
+<#if lazyColumns?has_content || ownedCollections?has_content>
+${table.className} entity = repository.findById(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+// single-row read: load the lazy columns and owned collections inside the transaction, so the response includes them
+<#list lazyColumns as c>
+entity.get${c.fieldName?cap_first}();
+</#list>
+<#list ownedCollections as r>
+entity.get${r.fieldName?cap_first}().size();
+</#list>
+return entity;
+<#else>
+return repository.findById(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+</#if>
 }
 
 public ${table.className} save(${table.className} entity) {
 return repository.save(entity);
 }
 
-public ${table.className} update(${pkType} id, ${table.className} entity) {
+<#if table.upsertKey?has_content>
+// Insert or update by (${table.upsertKey?join(", ")}) in one statement, no prior lookup
+public int upsert(${table.className} entity) {
+return repository.upsert(entity);
+}
+
+public int upsertAll(List<${table.className}> entities) {
+return repository.upsertAll(entities);
+}
+
+</#if>
+<#if versionType??>
+@Transactional(readOnly = true)
+public Optional<${versionType}> findVersionById(${pkType} id) {
+return repository.findVersionById(id);
+}
+
+</#if>
+public ${table.className} update(${pkType} id, ${table.className} entity<#if versionType??>, List<${versionType}> acceptedVersions</#if>) {
 <#if pkType?matches(".*Id$")>
     // composite id
     entity.setId(id);
@@ -45,10 +216,71 @@ public ${table.className} update(${pkType} id, ${table.className} entity) {
     // single-column id — set field directly
     entity.set${pkFieldName?cap_first}(id);
 </#if>
+<#if versionType??>
+    // one If-Match tag: merge compares it with the stored version and throws ObjectOptimisticLockingFailureException.
+    // Several tags or * (empty): the current version is read here, in the write transaction so from the primary
+    ${versionType} expectedVersion = acceptedVersions.size() == 1
+            ? acceptedVersions.get(0)
+            : repository.findVersionById(id).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    if (!acceptedVersions.isEmpty() && !acceptedVersions.contains(expectedVersion)) {
+        throw new ObjectOptimisticLockingFailureException(${table.className}.class, id);
+    }
+    entity.set${table.versionField?cap_first}(expectedVersion);
+</#if>
 return repository.save(entity);
 }
 
+/**
+ * Applies only the properties present in {@code changes} to the managed entity.
+ * Dirty checking plus @DynamicUpdate then writes just the modified columns.
+ */
+public ${table.className} patch(${pkType} id, JsonNode changes<#if versionType??>, List<${versionType}> acceptedVersions</#if>) throws IOException {
+if (changes == null || !changes.isObject()) {
+    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "PATCH body must be a JSON object");
+}
+ObjectNode fields = (ObjectNode) changes;
+${table.className} entity = repository.findById(id)
+        .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+<#if versionType??>
+// acceptedVersions: the If-Match tags, empty for *
+if (!acceptedVersions.isEmpty() && !acceptedVersions.contains(entity.get${table.versionField?cap_first}())) {
+    throw new ObjectOptimisticLockingFailureException(${table.className}.class, id);
+}
+fields.remove("${table.versionField}");
+</#if>
+// the primary key is taken from the path, never from the body
+fields.remove("${pkFieldName}");
+try {
+    objectMapper.readerForUpdating(entity).readValue(fields);
+} catch (JsonProcessingException e) {
+    // a value of the wrong type or format is the client's mistake, not a server error
+    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid PATCH body: " + e.getOriginalMessage(), e);
+}
+return entity;
+}
+
+<#assign cascadingDelete = table.relationships?filter(r -> (r.cascade!"")?matches("(?i).*\\b(ALL|REMOVE)\\b.*") || r.orphanRemoval)?has_content />
 public void deleteById(${pkType} id) {
+<#if table.hasSoftDelete>
+repository.softDeleteById(id);
+<#elseif cascadingDelete>
+// removed through the entity: a bulk DELETE would skip cascade REMOVE/ALL and orphanRemoval
 repository.deleteById(id);
+<#else>
+repository.hardDeleteById(id);
+</#if>
+}
+
+public int deleteAllById(Collection<${pkType}> ids) {
+if (ids.isEmpty()) return 0;
+<#if table.hasSoftDelete>
+return repository.softDeleteAllById(ids);
+<#elseif cascadingDelete>
+List<${table.className}> rows = repository.findAllById(ids);
+repository.deleteAll(rows);
+return rows.size();
+<#else>
+return repository.hardDeleteAllById(ids);
+</#if>
 }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+<#-- src/main/resources/templates/sql-statement-guard-test.java.ftl -->
+package ${packageName}.observability;
+
+import ${packageName}.loadtest.SeedDataGenerator;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Fails when a read endpoint runs more SQL statements than the budget, so N+1 selects are caught in CI.
+ * Budget: -Dsql.guard.max-statements=N (default ${maxStatements}).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class SqlStatementGuardTest {
+
+    private static final int MAX_STATEMENTS = Integer.getInteger("sql.guard.max-statements", ${maxStatements});
+    private static final int ROWS = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @TestFactory
+    Stream<DynamicTest> readEndpointsStayWithinStatementBudget() {
+        SeedDataGenerator seed = new SeedDataGenerator(jdbc, ROWS);
+        seed.seed();
+
+        List<String> urls = new ArrayList<>();
+<#list seedTables as t>
+<#if t.endpoint>
+        urls.add("/api/${t.path}");
+<#if t.pkColumn??>
+        urls.add("/api/${t.path}/" + seed.randomKey("${t.tableName}", "${t.pkColumn}"));
+</#if>
+</#if>
+</#list>
+
+        return urls.stream().map(url -> DynamicTest.dynamicTest("GET " + url, () -> {
+            SqlStatementCounter.reset();
+            mockMvc.perform(get(url)).andExpect(status().isOk());
+            int count = SqlStatementCounter.count();
+            assertTrue(count <= MAX_STATEMENTS,
+                    () -> "GET " + url + " ran " + count + " SQL statements (budget " + MAX_STATEMENTS + ")");
+        }));
+    }
+}
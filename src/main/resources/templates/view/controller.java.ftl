@@ -0,0 +1,36 @@
+<#-- src/main/resources/templates/view/controller.java.ftl -->
+package ${packageName}.controller;
+
+import ${packageName}.entity.${table.className};
+import ${packageName}.service.${table.className}Service;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Read-only endpoints of the ${table.tableName} <#if table.materializedView>materialized </#if>view: there is nothing to create, update or delete.
+ */
+@RestController
+@RequestMapping("/api/${table.endpointPath}")
+@RequiredArgsConstructor
+public class ${table.className}Controller {
+
+private final ${table.className}Service service;
+
+/**
+ * One page of rows, e.g. ?page=0&size=50&sort=<#if table.compositePrimaryKey>id.</#if>${table.primaryKeyColumns[0]},desc
+ */
+@GetMapping
+public PagedModel<${table.className}> getAll(@PageableDefault(size = 20) Pageable pageable) {
+return new PagedModel<>(service.findAll(pageable));
+}
+<#if !table.compositePrimaryKey>
+
+@GetMapping("/{id}")
+public ${table.className} getById(@PathVariable ${pkType} id) {
+return service.findById(id);
+}
+</#if>
+}
@@ -0,0 +1,34 @@
+<#-- src/main/resources/templates/view/repository.java.ftl -->
+package ${packageName}.repository;
+
+import ${packageName}.entity.${table.className};
+<#if pkType?matches(".*Id$")>
+import ${packageName}.entity.${pkType};
+</#if>
+<#if table.materializedView>
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+</#if>
+import org.springframework.data.repository.ListPagingAndSortingRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * ${table.tableName} is a <#if table.materializedView>materialized </#if>view: only reads are declared here, the
+ * methods below are served by Spring Data's default implementation without exposing save or delete.
+ */
+@Repository
+public interface ${table.className}Repository extends ListPagingAndSortingRepository<${table.className}, ${pkType}> {
+
+    Optional<${table.className}> findById(${pkType} id);
+
+    long count();
+<#if table.materializedView>
+
+    // CONCURRENTLY keeps the view readable during the refresh, it relies on the unique index of the migration
+    @Modifying
+    @Query(value = "REFRESH MATERIALIZED VIEW CONCURRENTLY ${table.tableName}", nativeQuery = true)
+    void refresh();
+</#if>
+}
@@ -0,0 +1,45 @@
+<#-- src/main/resources/templates/view/service.java.ftl -->
+package ${packageName}.service;
+
+import ${packageName}.entity.${table.className};
+<#if pkType?matches(".*Id$")>
+import ${packageName}.entity.${pkType};
+</#if>
+import ${packageName}.repository.${table.className}Repository;
+<#if options.observability>
+import io.micrometer.core.annotation.Timed;
+</#if>
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+<#if options.observability>
+@Timed(value = "crud.service", extraTags = {"entity", "${table.className}"}, histogram = true)
+</#if>
+public class ${table.className}Service {
+
+private final ${table.className}Repository repository;
+
+public Page<${table.className}> findAll(Pageable pageable) {
+return repository.findAll(pageable);
+}
+
+public ${table.className} findById(${pkType} id) {
+return repository.findById(id).orElseThrow();
+}
+<#if table.materializedView>
+
+/**
+ * Recomputes ${table.tableName} from its query; not exposed over HTTP, call it from a scheduler or after bulk writes.
+ */
+@Transactional
+public void refresh() {
+repository.refresh();
+}
+</#if>
+}
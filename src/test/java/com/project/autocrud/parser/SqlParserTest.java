@@ -0,0 +1,81 @@
+package com.project.autocrud.parser;
+
+import net.sf.jsqlparser.statement.create.table.ColumnDefinition;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SqlParserTest {
+
+    private static final String SCHEMA = """
+            CREATE TABLE users (
+                id BIGSERIAL PRIMARY KEY,
+                email VARCHAR(255) NOT NULL,
+                score INTEGER
+            );
+            CREATE TABLE orders (
+                id BIGSERIAL PRIMARY KEY,
+                user_id BIGINT NOT NULL REFERENCES users(id),
+                total NUMERIC(10, 2),
+                note TEXT,
+                created_at TIMESTAMP
+            );
+            CREATE VIEW order_totals AS
+                SELECT u.id, u.email, COUNT(o.id) AS order_count, SUM(o.total) AS revenue, SUM(u.score) AS points,
+                       CAST(MAX(o.created_at) AS DATE) AS last_order, o.note || '!' AS label
+                FROM users u JOIN orders o ON o.user_id = u.id
+                GROUP BY u.id, u.email, o.note;
+            CREATE MATERIALIZED VIEW user_copy AS SELECT * FROM users;
+            """;
+
+    @Test
+    void viewsFollowTheTables() throws Exception {
+        List<CreateTable> statements = SqlParser.parse(SCHEMA);
+
+        assertEquals(List.of("users", "orders", "order_totals", "user_copy"),
+                statements.stream().map(t -> t.getTable().getName()).toList());
+        assertFalse(statements.get(0) instanceof SqlParser.ViewDefinition);
+        assertFalse(assertInstanceOf(SqlParser.ViewDefinition.class, statements.get(2)).isMaterialized());
+        assertTrue(assertInstanceOf(SqlParser.ViewDefinition.class, statements.get(3)).isMaterialized());
+    }
+
+    @Test
+    void viewColumnsAreTypedFromTheirSources() throws Exception {
+        SqlParser.ViewDefinition view = (SqlParser.ViewDefinition) SqlParser.parse(SCHEMA).get(2);
+
+        Map<String, String> expected = new LinkedHashMap<>();
+        expected.put("id", "BIGSERIAL");          // source column, through the table alias
+        expected.put("email", "VARCHAR");
+        expected.put("order_count", "BIGINT");    // COUNT
+        expected.put("revenue", "NUMERIC");       // SUM of NUMERIC
+        expected.put("points", "BIGINT");         // SUM of INTEGER
+        expected.put("last_order", "DATE");       // CAST wins over the aggregate
+        expected.put("label", "UNKNOWN");         // expression the parser does not type
+        assertEquals(expected, types(view));
+        assertEquals(List.of("label"), view.getUnresolvedColumns());
+    }
+
+    @Test
+    void selectStarCopiesTheSourceColumns() throws Exception {
+        SqlParser.ViewDefinition view = (SqlParser.ViewDefinition) SqlParser.parse(SCHEMA).get(3);
+
+        assertEquals(List.of("id", "email", "score"), List.copyOf(types(view).keySet()));
+        assertTrue(view.getUnresolvedColumns().isEmpty());
+    }
+
+    private Map<String, String> types(CreateTable view) {
+        Map<String, String> types = new LinkedHashMap<>();
+        for (ColumnDefinition column : view.getColumnDefinitions()) {
+            types.put(column.getColumnName(), column.getColDataType().getDataType().toUpperCase());
+        }
+        return types;
+    }
+}
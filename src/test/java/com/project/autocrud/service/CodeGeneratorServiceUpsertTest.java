@@ -0,0 +1,128 @@
+package com.project.autocrud.service;
+
+import com.project.autocrud.model.ColumnMetadata;
+import com.project.autocrud.model.TableMetadata;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CodeGeneratorServiceUpsertTest {
+
+    private final CodeGeneratorService generator = new CodeGeneratorService();
+
+    @Test
+    void upsertOnUniqueKey() {
+        Map<String, Object> model = generator.buildUpsertModel(products(false));
+
+        assertEquals("INSERT INTO products (sku, name, price, updated_at) VALUES (:sku, :name, :price, CURRENT_TIMESTAMP)"
+                        + " ON CONFLICT (sku) DO UPDATE SET name = EXCLUDED.name, price = EXCLUDED.price,"
+                        + " updated_at = CURRENT_TIMESTAMP",
+                model.get("postgresSql"));
+        assertEquals("INSERT INTO products (sku, name, price, updated_at) VALUES (:sku, :name, :price, CURRENT_TIMESTAMP)"
+                        + " ON DUPLICATE KEY UPDATE name = VALUES(name), price = VALUES(price), updated_at = CURRENT_TIMESTAMP",
+                model.get("mysqlSql"));
+        assertEquals("MERGE INTO products t USING (VALUES (:sku, :name, :price, CURRENT_TIMESTAMP))"
+                        + " s (sku, name, price, updated_at) ON (t.sku = s.sku)"
+                        + " WHEN MATCHED THEN UPDATE SET name = s.name, price = s.price, updated_at = CURRENT_TIMESTAMP"
+                        + " WHEN NOT MATCHED THEN INSERT (sku, name, price, updated_at)"
+                        + " VALUES (s.sku, s.name, s.price, s.updated_at)",
+                model.get("mergeSql"));
+        assertEquals(false, model.get("versioned"));
+    }
+
+    @Test
+    void versionedUpsertOnlyReplacesTheRowWithTheSameVersion() {
+        Map<String, Object> model = generator.buildUpsertModel(products(true));
+
+        assertEquals("INSERT INTO products (sku, name, price, version, updated_at)"
+                        + " VALUES (:sku, :name, :price, 0, CURRENT_TIMESTAMP)"
+                        + " ON CONFLICT (sku) DO UPDATE SET name = EXCLUDED.name, price = EXCLUDED.price,"
+                        + " updated_at = CURRENT_TIMESTAMP, version = products.version + 1"
+                        + " WHERE products.version = :version",
+                model.get("postgresSql"));
+        assertEquals("INSERT INTO products (sku, name, price, version, updated_at)"
+                        + " VALUES (:sku, :name, :price, 0, CURRENT_TIMESTAMP)"
+                        + " ON DUPLICATE KEY UPDATE name = IF(version = :version, VALUES(name), name),"
+                        + " price = IF(version = :version, VALUES(price), price),"
+                        + " updated_at = IF(version = :version, CURRENT_TIMESTAMP, updated_at),"
+                        + " version = IF(version = :version, version + 1, version)",
+                model.get("mysqlSql"));
+        assertEquals("MERGE INTO products t USING (VALUES (:sku, :name, :price, 0, CURRENT_TIMESTAMP))"
+                        + " s (sku, name, price, version, updated_at) ON (t.sku = s.sku)"
+                        + " WHEN MATCHED AND t.version = :version THEN UPDATE SET name = s.name, price = s.price,"
+                        + " updated_at = CURRENT_TIMESTAMP, version = t.version + 1"
+                        + " WHEN NOT MATCHED THEN INSERT (sku, name, price, version, updated_at)"
+                        + " VALUES (s.sku, s.name, s.price, s.version, s.updated_at)",
+                model.get("mergeSql"));
+        assertEquals(true, model.get("versioned"));
+    }
+
+    @Test
+    void uniqueKeyOfSoftDeletedTableCoversDeletedRows() {
+        TableMetadata table = products(false);
+        table.getColumns().add(column("deleted_at", "deletedAt", LocalDateTime.class, "TIMESTAMP"));
+        table.setHasSoftDelete(true);
+        table.setSoftDeleteField("deletedAt");
+        table.setSoftDeleteColumn("deleted_at");
+
+        String postgres = (String) generator.buildUpsertModel(table).get("postgresSql");
+        assertTrue(postgres.contains(" ON CONFLICT (sku) DO UPDATE SET "), postgres);
+    }
+
+    @Test
+    void uniqueAmongLiveKeyNamesThePartialIndexPredicate() {
+        TableMetadata table = products(false);
+        table.getColumns().get(1).setUniqueAmongLive(true);
+        table.getColumns().add(column("deleted_at", "deletedAt", LocalDateTime.class, "TIMESTAMP"));
+        table.getColumns().get(table.getColumns().size() - 1).setDeletedAt(true);
+        table.setHasSoftDelete(true);
+        table.setSoftDeleteField("deletedAt");
+        table.setSoftDeleteColumn("deleted_at");
+
+        String postgres = (String) generator.buildUpsertModel(table).get("postgresSql");
+        assertTrue(postgres.contains(" ON CONFLICT (sku) WHERE deleted_at IS NULL DO UPDATE SET "), postgres);
+    }
+
+    // products(id BIGSERIAL PK, sku UNIQUE, name, price[, version], updated_at), upserted on sku
+    private TableMetadata products(boolean versioned) {
+        TableMetadata table = new TableMetadata();
+        table.setTableName("products");
+        table.setClassName("Products");
+        table.setPrimaryKeyColumns(List.of("id"));
+        table.setUpsertKey(List.of("sku"));
+
+        ColumnMetadata id = column("id", "id", Long.class, "BIGSERIAL");
+        id.setPrimaryKey(true);
+        id.setAutoIncrement(true);
+        ColumnMetadata sku = column("sku", "sku", String.class, "VARCHAR");
+        sku.setUnique(true);
+        table.getColumns().addAll(List.of(id, sku,
+                column("name", "name", String.class, "VARCHAR"),
+                column("price", "price", BigDecimal.class, "NUMERIC")));
+        if (versioned) {
+            ColumnMetadata version = column("version", "version", Long.class, "BIGINT");
+            version.setVersion(true);
+            table.getColumns().add(version);
+            table.setVersionField("version");
+        }
+        ColumnMetadata updatedAt = column("updated_at", "updatedAt", LocalDateTime.class, "TIMESTAMP");
+        updatedAt.setUpdatedAt(true);
+        table.getColumns().add(updatedAt);
+        return table;
+    }
+
+    private ColumnMetadata column(String name, String fieldName, Class<?> javaType, String sqlType) {
+        ColumnMetadata column = new ColumnMetadata();
+        column.setName(name);
+        column.setFieldName(fieldName);
+        column.setJavaType(javaType);
+        column.setSqlType(sqlType);
+        return column;
+    }
+}
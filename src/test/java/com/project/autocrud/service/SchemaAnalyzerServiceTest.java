@@ -0,0 +1,87 @@
+package com.project.autocrud.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.autocrud.config.OverrideConfig;
+import com.project.autocrud.model.IndexMetadata;
+import com.project.autocrud.model.TableMetadata;
+import com.project.autocrud.parser.SqlParser;
+import net.sf.jsqlparser.statement.create.table.CreateTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchemaAnalyzerServiceTest {
+
+    private static final String SCHEMA = """
+            CREATE TABLE users (
+                id BIGSERIAL PRIMARY KEY,
+                email VARCHAR(255) NOT NULL UNIQUE,
+                created_at TIMESTAMP
+            );
+            CREATE TABLE orders (
+                id BIGSERIAL PRIMARY KEY,
+                user_id BIGINT NOT NULL REFERENCES users(id),
+                total NUMERIC(10, 2),
+                version BIGINT NOT NULL DEFAULT 0
+            );
+            """;
+
+    private static final String CHANGED = """
+            {
+              "tableOverrides": {"orders": {"endpointPath": "purchases"}},
+              "columnOverrides": {"orders": {"total": {"indexed": true}}}
+            }
+            """;
+
+    private final SchemaAnalyzerService analyzer = new SchemaAnalyzerService();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void cachedAnalysisMatchesAFreshOneWhenOneTableChanges() throws Exception {
+        List<CreateTable> statements = SqlParser.parse(SCHEMA);
+        Map<String, TableMetadata> baseCache = new HashMap<>();
+        OverrideConfig none = analyzer.parseOverrides(null);
+        OverrideConfig changed = analyzer.parseOverrides(CHANGED);
+
+        analyzer.analyze(statements, none, baseCache);
+        assertEquals(json(analyzer.analyze(SqlParser.parse(SCHEMA), changed, null)),
+                json(analyzer.analyze(statements, changed, baseCache)));
+        // users was taken from the cache, orders processed once per override set
+        assertEquals(3, baseCache.size());
+
+        // back to the first overrides: both tables come from the cache
+        assertEquals(json(analyzer.analyze(SqlParser.parse(SCHEMA), none, null)),
+                json(analyzer.analyze(statements, none, baseCache)));
+        assertEquals(3, baseCache.size());
+    }
+
+    @Test
+    void uniqueConstraintsOfSoftDeletedTablesStayFullUnlessOverridden() throws Exception {
+        String sql = """
+                CREATE TABLE accounts (
+                    id BIGSERIAL PRIMARY KEY,
+                    email VARCHAR(255) NOT NULL UNIQUE,
+                    handle VARCHAR(64) NOT NULL UNIQUE,
+                    deleted_at TIMESTAMP
+                );
+                """;
+        TableMetadata accounts = analyzer.analyze(sql,
+                "{\"columnOverrides\": {\"accounts\": {\"handle\": {\"uniqueAmongLive\": true}}}}").get(0);
+
+        assertEquals(true, accounts.isHasSoftDelete());
+        assertEquals(null, index(accounts, "ux_accounts_email").getWhere());
+        assertEquals("deleted_at IS NULL", index(accounts, "ux_accounts_handle").getWhere());
+    }
+
+    private IndexMetadata index(TableMetadata table, String name) {
+        return table.getIndexes().stream().filter(i -> i.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    private String json(List<TableMetadata> tables) throws Exception {
+        return objectMapper.writeValueAsString(tables);
+    }
+}
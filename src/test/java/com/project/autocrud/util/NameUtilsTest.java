@@ -0,0 +1,28 @@
+package com.project.autocrud.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NameUtilsTest {
+
+    @Test
+    void shortIdentifiersAreOnlyLowerCased() {
+        assertEquals("fk_orders_user_id", NameUtils.sqlIdentifier("FK_Orders_User_Id"));
+    }
+
+    @Test
+    void longIdentifiersSharingAPrefixStayDistinct() {
+        String prefix = "fk_customer_subscription_billing_history_entries_";
+        String first = NameUtils.sqlIdentifier(prefix + "payment_method_reference_id");
+        String second = NameUtils.sqlIdentifier(prefix + "payment_method_reference_code");
+
+        assertEquals(63, first.length());
+        assertEquals(63, second.length());
+        assertTrue(first.startsWith(prefix));
+        assertNotEquals(first, second);
+        assertEquals(first, NameUtils.sqlIdentifier(prefix + "payment_method_reference_id"));
+    }
+}